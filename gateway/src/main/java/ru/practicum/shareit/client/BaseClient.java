@@ -1,98 +1,205 @@
 package ru.practicum.shareit.client;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.http.HttpEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import static ru.practicum.shareit.constant.Constants.X_TOTAL_COUNT;
+
+@Slf4j
 public class BaseClient {
-    protected final RestTemplate rest;
+    /**
+     * Заголовки ответа сервера, которые шлюз передаёт клиенту вместе с телом.
+     */
+    private static final List<String> PROXIED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.LOCATION,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY, X_TOTAL_COUNT);
+    private static final int UPLOAD_BUFFER_SIZE = 8192;
+
+    protected final WebClient web;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final ResponseCache responseCache;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(String baseUrl, WebClient.Builder builder, ResponseCache responseCache) {
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(baseUrl);
+        this.web = builder.uriBuilderFactory(uriBuilderFactory).build();
+        this.responseCache = responseCache;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    /**
+     * GET с кэшированием ответа в шлюзе. Только для идемпотентных запросов, ответ которых
+     * зависит лишь от URI и пользователя.
+     */
+    protected Mono<ResponseEntity<Object>> cachedGet(String path, Long userId,
+                                                     @Nullable Map<String, Object> parameters) {
+        URI uri = uriBuilderFactory.expand(path, parameters != null ? parameters : Map.of());
+        String key = uri + "#" + userId;
+        ResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null && responseCache.isFresh(cached)) {
+            return Mono.just(prepareGatewayResponse(cached.toEntity()));
+        }
+
+        long generation = responseCache.generation();
+        return web.get()
+                .uri(uri)
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    if (cached != null && cached.etag() != null) headers.setIfNoneMatch(cached.etag());
+                })
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> {
+                    if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        return responseCache.revalidate(key, cached, generation).toEntity();
+                    }
+                    responseCache.put(key, response, generation);
+                    return response;
+                })
+                .map(BaseClient::prepareGatewayResponse);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    /**
+     * Копирует тело ответа в выходной поток ответа шлюза. Поток сервлета блокирующий, поэтому метод
+     * дожидается окончания копирования и вызывается из StreamingResponseBody, а не из потока Tomcat.
+     */
+    protected void stream(String path, Long userId, @Nullable Map<String, Object> parameters,
+                          MediaType mediaType, OutputStream outputStream) {
+        Flux<DataBuffer> body = web.get()
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    headers.setAccept(List.of(mediaType));
+                })
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
 
-        ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            DataBufferUtils.write(body, outputStream)
+                    .map(DataBufferUtils::release)
+                    .then()
+                    .block();
+        } catch (RuntimeException e) {
+            // статус 200 к этому моменту уже мог уйти клиенту; исключение не глушится, чтобы Tomcat
+            // оборвал соединение без завершающего блока и клиент не принял обрезанный поток за полный
+            log.error("Потоковый ответ сервера на GET {} прерван: {}", path, e.getMessage());
+            throw e;
         }
-        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    protected Mono<ResponseEntity<Object>> upload(String path, Long userId, MediaType mediaType, InputStream body) {
+        // тело передаётся потоком, без буферизации всего запроса в памяти шлюза;
+        // чтение из потока сервлета блокирующее, поэтому оно вынесено с потоков ввода-вывода клиента
+        Flux<DataBuffer> content = DataBufferUtils.readInputStream(() -> body,
+                        DefaultDataBufferFactory.sharedInstance, UPLOAD_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+
+        return web.post()
+                .uri(path)
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    headers.setContentType(mediaType);
+                })
+                .body(BodyInserters.fromDataBuffers(content))
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .doOnNext(this::invalidateCacheOnWrite)
+                .map(BaseClient::prepareGatewayResponse);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = web.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> exchange = body != null ? request.bodyValue(body) : request;
+
+        // тело ответа сервера передаётся клиенту байтами, без разбора JSON и повторной сериализации;
+        // ответы с ошибкой не превращаются в исключения и уходят клиенту как есть
+        Mono<ResponseEntity<byte[]>> response = exchange.exchangeToMono(
+                serverResponse -> serverResponse.toEntity(byte[].class));
+        if (method != HttpMethod.GET) response = response.doOnNext(this::invalidateCacheOnWrite);
+        return response.map(BaseClient::prepareGatewayResponse);
+    }
+
+    private void invalidateCacheOnWrite(ResponseEntity<byte[]> response) {
+        // запись может изменить любой закэшированный ответ: карточку вещи, поиск, списки запросов
+        if (response.getStatusCode().is2xxSuccessful()) responseCache.invalidateAll();
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,15 +212,18 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        HttpHeaders serverHeaders = response.getHeaders();
+        HttpHeaders headers = new HttpHeaders();
+        PROXIED_HEADERS.stream()
+                .filter(serverHeaders::containsKey)
+                .forEach(name -> headers.put(name, serverHeaders.get(name)));
+        byte[] body = response.getBody();
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode()).headers(headers);
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
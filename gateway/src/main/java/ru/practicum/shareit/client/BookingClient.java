@@ -2,52 +2,78 @@ package ru.practicum.shareit.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.dto.BookingDto;
+import ru.practicum.shareit.dto.BookingFilter;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Component
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                         ResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, builder, responseCache);
     }
 
-    public ResponseEntity<Object> createBooking(Long userId, BookingDto createBookingDto) {
+    public Mono<ResponseEntity<Object>> createBooking(Long userId, BookingDto createBookingDto) {
         return post("", userId, createBookingDto);
     }
 
-    public ResponseEntity<Object> updateBookingStatus(Long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> createBookings(Long userId, List<BookingDto> createBookingDtos) {
+        return post("/batch", userId, createBookingDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> updateBookingStatus(Long userId, Long bookingId, Boolean approved) {
         return patch(("/" + bookingId + "?approved=" + approved), userId, null);
     }
 
-    public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getUserBookings(Long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getUserBookings(Long userId, BookingFilter filter, Integer from,
+                                                        Integer size, LocalDateTime afterStart, Long afterId,
+                                                        Boolean withTotal) {
+        return getBookings("", userId, filter, from, size, afterStart, afterId, withTotal);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(Long userId, String state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("/owner", userId, parameters);
+    public Mono<ResponseEntity<Object>> getOwnerBookings(Long userId, BookingFilter filter, Integer from,
+                                                         Integer size, LocalDateTime afterStart, Long afterId,
+                                                         Boolean withTotal) {
+        return getBookings("/owner", userId, filter, from, size, afterStart, afterId, withTotal);
+    }
+
+    private Mono<ResponseEntity<Object>> getBookings(String path, Long userId, BookingFilter filter, Integer from,
+                                                     Integer size, LocalDateTime afterStart, Long afterId,
+                                                     Boolean withTotal) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("state", filter.getState());
+        parameters.put("itemId", filter.getItemId());
+        parameters.put("rangeStart", filter.getRangeStart());
+        parameters.put("rangeEnd", filter.getRangeEnd());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (afterStart != null && afterId != null) {
+            parameters.put("afterStart", afterStart);
+            parameters.put("afterId", afterId);
+        }
+        parameters.put("withTotal", withTotal);
+        parameters.values().removeIf(Objects::isNull);
+
+        String query = parameters.keySet().stream()
+                .map(name -> name + "={" + name + "}")
+                .collect(Collectors.joining("&", "?", ""));
+        return get(path + query, userId, parameters);
     }
 }
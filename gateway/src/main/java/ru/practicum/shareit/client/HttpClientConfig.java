@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.HttpComponentsClientHttpConnector;
+
+import java.time.Duration;
+
+/**
+ * Общий пул соединений шлюза с сервером. Все клиенты ходят на один адрес, поэтому пул делится между ними.
+ * Клиент неблокирующий: ответа сервера ждёт не поток Tomcat, а обработчик ввода-вывода httpclient.
+ * Коннектор подхватывается автоконфигурацией в WebClient.Builder, из которого собираются клиенты.
+ */
+@Configuration
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public PoolingAsyncClientConnectionManager shareitServerConnectionManager(
+            @Value("${shareit-server.pool.max-total:200}") int maxTotal,
+            @Value("${shareit-server.pool.max-per-route:200}") int maxPerRoute,
+            @Value("${shareit-server.pool.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.pool.time-to-live:5m}") Duration timeToLive) {
+        return PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        // соединение, простоявшее дольше секунды, проверяется перед выдачей из пула
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(1))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpAsyncClient shareitServerHttpClient(
+            PoolingAsyncClientConnectionManager connectionManager,
+            @Value("${shareit-server.pool.connection-request-timeout:1s}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.pool.response-timeout:30s}") Duration responseTimeout,
+            @Value("${shareit-server.pool.keep-alive:1m}") Duration keepAlive,
+            @Value("${shareit-server.pool.evict-idle-after:30s}") Duration evictIdleAfter) {
+        TimeValue maxKeepAlive = TimeValue.of(keepAlive);
+        DefaultConnectionKeepAliveStrategy serverKeepAlive = new DefaultConnectionKeepAliveStrategy();
+
+        return HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                // срок из заголовка Keep-Alive сервера, но не дольше настроенного
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue allowed = serverKeepAlive.getKeepAliveDuration(response, context);
+                    return allowed.compareTo(maxKeepAlive) < 0 ? allowed : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(evictIdleAfter))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareitServerConnector(CloseableHttpAsyncClient shareitServerHttpClient) {
+        return new HttpComponentsClientHttpConnector(shareitServerHttpClient);
+    }
+
+    /**
+     * Метрики пула httpcomponents.httpclient.pool.* с тегом httpclient=shareit-server.
+     */
+    @Bean
+    public MeterBinder shareitServerConnectionPoolMetrics(PoolingAsyncClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+    }
+}
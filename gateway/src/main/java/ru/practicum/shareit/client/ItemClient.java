@@ -2,56 +2,63 @@ package ru.practicum.shareit.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
 
 @Component
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, builder, responseCache);
     }
 
-    public ResponseEntity<Object> createItem(Long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> createItem(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> addComment(Long userId, Long itemId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> importItems(Long userId, InputStream body) {
+        return upload("/import", userId, MediaType.APPLICATION_NDJSON, body);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(Long userId, Long itemId, CommentDto commentDto) {
         return post(("/" + itemId + "/comment"), userId, commentDto);
     }
 
-    public ResponseEntity<Object> getItem(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(Long userId, Long itemId) {
+        return cachedGet("/" + itemId, userId, null);
     }
 
-    public ResponseEntity<Object> getUserItems(Long userId) {
+    public Mono<ResponseEntity<Object>> getUserItems(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemsByPattern(String text) {
-        return get("/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8));
+    public Mono<ResponseEntity<Object>> getItemsByPattern(String text, Long after, Integer size) {
+        Map<String, Object> parameters = Map.of("text", text, "after", after, "size", size);
+        return cachedGet("/search?text={text}&after={after}&size={size}", null, parameters);
+    }
+
+    public void streamItemsByPattern(String text, Long after, OutputStream outputStream) {
+        Map<String, Object> parameters = Map.of("text", text, "after", after);
+        stream("/search?text={text}&after={after}", null, parameters, MediaType.APPLICATION_NDJSON, outputStream);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto updateItemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(Long userId, Long itemId, ItemDto updateItemDto) {
         return patch("/" + itemId, userId, updateItemDto);
     }
 
-    public ResponseEntity<Object> deleteItem(Long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(Long itemId) {
         return delete("/" + itemId);
     }
 }
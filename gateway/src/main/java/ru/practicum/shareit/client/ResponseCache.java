@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш ответов сервера на идемпотентные GET-запросы, ключ - URI запроса и X-Sharer-User-Id.
+ * Свежий ответ (моложе ttl) отдаётся без обращения к серверу, устаревший перепроверяется по ETag.
+ * Любая успешная запись через шлюз делает все ответы устаревшими: следующий GET по каждому ключу
+ * уйдёт на сервер с If-None-Match и при неизменном теле обойдётся ответом 304.
+ */
+@Component
+public class ResponseCache {
+    private final Cache<String, CachedResponse> responses;
+    private final long ttlNanos;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(@Value("${shareit-server.response-cache.maximum-weight:64MB}") DataSize maximumWeight,
+                         @Value("${shareit-server.response-cache.ttl:5s}") Duration ttl,
+                         @Value("${shareit-server.response-cache.max-age:10m}") Duration maxAge,
+                         MeterRegistry meterRegistry) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfterWrite(maxAge)
+                .recordStats()
+                .build();
+        this.ttlNanos = ttl.toNanos();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gatewayResponses");
+    }
+
+    /**
+     * Поколение данных на момент отправки запроса; сохраняемый ответ помечается им,
+     * чтобы запись, прошедшая во время запроса, не оставила его свежим.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    public boolean isFresh(CachedResponse response) {
+        return response.generation() == generation.get() && System.nanoTime() - response.validatedAt() < ttlNanos;
+    }
+
+    public void put(String key, ResponseEntity<byte[]> response, long requestGeneration) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            responses.invalidate(key);
+            return;
+        }
+        byte[] body = response.getBody() != null ? response.getBody() : new byte[0];
+        responses.put(key, new CachedResponse(response.getStatusCode(), response.getHeaders(), body,
+                requestGeneration, System.nanoTime()));
+    }
+
+    /**
+     * Сервер подтвердил ответом 304, что сохранённое тело актуально.
+     */
+    public CachedResponse revalidate(String key, CachedResponse response, long requestGeneration) {
+        CachedResponse revalidated = new CachedResponse(response.status(), response.headers(), response.body(),
+                requestGeneration, System.nanoTime());
+        responses.put(key, revalidated);
+        return revalidated;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long generation,
+                                 long validatedAt) {
+
+        @Nullable
+        public String etag() {
+            return headers.getETag();
+        }
+
+        public ResponseEntity<byte[]> toEntity() {
+            return ResponseEntity.status(status).headers(headers).body(body);
+        }
+    }
+}
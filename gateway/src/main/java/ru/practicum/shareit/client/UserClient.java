@@ -2,44 +2,46 @@ package ru.practicum.shareit.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.dto.UserDto;
 
+import java.io.InputStream;
+
 @Component
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, builder, responseCache);
     }
 
-    public ResponseEntity<Object> createUser(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> importUsers(InputStream body) {
+        return upload("/import", null, MediaType.APPLICATION_NDJSON, body);
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(Long userId) {
+        return cachedGet("/" + userId, null, null);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
-        return get(null);
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return get("");
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserDto updateUserDto) {
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserDto updateUserDto) {
         return patch("/" + userId, updateUserDto);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
         return delete("/" + userId);
     }
 }
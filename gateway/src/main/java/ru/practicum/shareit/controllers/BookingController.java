@@ -1,19 +1,31 @@
 package ru.practicum.shareit.controllers;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BookingClient;
 import ru.practicum.shareit.dto.BookingDto;
+import ru.practicum.shareit.dto.BookingFilter;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static ru.practicum.shareit.constant.Constants.BOOKING_BATCH_MAX_SIZE;
+import static ru.practicum.shareit.constant.Constants.BOOKING_CURSOR_INCOMPLETE;
 import static ru.practicum.shareit.constant.Constants.X_SHARER_USER_ID;
 
 @Slf4j
@@ -25,7 +37,7 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(
+    public Mono<ResponseEntity<Object>> createBooking(
             @RequestHeader(X_SHARER_USER_ID) @Positive Long userId,
             @Valid @RequestBody BookingDto bookingDto
     ) {
@@ -33,8 +45,18 @@ public class BookingController {
         return bookingClient.createBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createBookings(
+            @RequestHeader(X_SHARER_USER_ID) @Positive Long userId,
+            @RequestBody @NotEmpty @Size(max = BOOKING_BATCH_MAX_SIZE) List<@Valid BookingDto> bookingDtos
+    ) {
+        log.info("POST /bookings/batch - пакетное создание {} бронирований от пользователя с ID={}",
+                bookingDtos.size(), userId);
+        return bookingClient.createBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBookingStatus(
+    public Mono<ResponseEntity<Object>> updateBookingStatus(
             @RequestHeader(X_SHARER_USER_ID) @Positive Long userId,
             @PathVariable @Positive Long bookingId,
             @RequestParam Boolean approved
@@ -45,7 +67,7 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(
+    public Mono<ResponseEntity<Object>> getBooking(
             @RequestHeader(X_SHARER_USER_ID) @Positive Long userId,
             @PathVariable @Positive Long bookingId
     ) {
@@ -54,26 +76,52 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserBookings(
+    public Mono<ResponseEntity<Object>> getUserBookings(
             @RequestHeader(X_SHARER_USER_ID) @Positive Long userId,
             @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) @Positive Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rangeStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rangeEnd,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+            @RequestParam(required = false) @Positive Long afterId,
+            @RequestParam(defaultValue = "false") Boolean withTotal
     ) {
-        log.info("GET /bookings?state={}&from={}&size={} - получение списка бронирований пользователя с ID={}",
-                state, from, size, userId);
-        return bookingClient.getUserBookings(userId, state, from, size);
+        requireCompleteCursor(afterStart, afterId);
+        BookingFilter filter = new BookingFilter(state, itemId, rangeStart, rangeEnd);
+        log.info("GET /bookings?from={}&size={}&afterStart={}&afterId={}&withTotal={} - получение списка бронирований пользователя с ID={}, фильтр: {}",
+                from, size, afterStart, afterId, withTotal, userId, filter);
+        return bookingClient.getUserBookings(userId, filter, from, size, afterStart, afterId, withTotal);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(
+    public Mono<ResponseEntity<Object>> getOwnerBookings(
             @RequestHeader(X_SHARER_USER_ID) @Positive Long userId,
             @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) @Positive Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rangeStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rangeEnd,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+            @RequestParam(required = false) @Positive Long afterId,
+            @RequestParam(defaultValue = "false") Boolean withTotal
     ) {
-        log.info("GET /bookings/owner?state={}&from={}&size={} - получение списка бронирований владельца с ID={}",
-                state, from, size, userId);
-        return bookingClient.getOwnerBookings(userId, state, from, size);
+        requireCompleteCursor(afterStart, afterId);
+        BookingFilter filter = new BookingFilter(state, itemId, rangeStart, rangeEnd);
+        log.info("GET /bookings/owner?from={}&size={}&afterStart={}&afterId={}&withTotal={} - получение списка бронирований владельца с ID={}, фильтр: {}",
+                from, size, afterStart, afterId, withTotal, userId, filter);
+        return bookingClient.getOwnerBookings(userId, filter, from, size, afterStart, afterId, withTotal);
+    }
+
+    /**
+     * Курсор страницы задаётся только парой afterStart и afterId: половина курсора не может быть
+     * молча проигнорирована, иначе клиент вместо следующей страницы снова получит первую.
+     */
+    private static void requireCompleteCursor(LocalDateTime afterStart, Long afterId) {
+        if ((afterStart == null) != (afterId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, BOOKING_CURSOR_INCOMPLETE);
+        }
     }
 }
@@ -1,15 +1,23 @@
 package ru.practicum.shareit.controllers;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.ItemClient;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 
+import java.io.IOException;
+
 import static ru.practicum.shareit.constant.Constants.X_SHARER_USER_ID;
 
 @Slf4j
@@ -23,7 +31,7 @@ public class ItemController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createItem(
+    public Mono<ResponseEntity<Object>> createItem(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @Validated @RequestBody ItemDto itemDto
     ) {
@@ -31,8 +39,17 @@ public class ItemController {
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Object>> importItems(
+            @RequestHeader(X_SHARER_USER_ID) Long userId,
+            HttpServletRequest request
+    ) throws IOException {
+        log.info("POST /items/import - импорт вещей пользователем с ID={} из NDJSON-потока", userId);
+        return itemClient.importItems(userId, request.getInputStream());
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(
+    public Mono<ResponseEntity<Object>> addComment(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @PathVariable Long itemId,
             @RequestBody CommentDto commentDto
@@ -43,7 +60,7 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(
+    public Mono<ResponseEntity<Object>> getItem(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @PathVariable Long itemId
     ) {
@@ -52,19 +69,32 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItems(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getUserItems(@RequestHeader(X_SHARER_USER_ID) Long userId) {
         log.info("GET /items - запрос всех вещей пользователя с ID={}", userId);
         return itemClient.getUserItems(userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemsByPattern(@RequestParam("text") String pattern) {
-        log.info("GET /items/search?text={} - поиск вещей по тексту", pattern);
-        return itemClient.getItemsByPattern(pattern);
+    public Mono<ResponseEntity<Object>> getItemsByPattern(
+            @RequestParam("text") String pattern,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Long after,
+            @RequestParam(defaultValue = "10") @Positive Integer size
+    ) {
+        log.info("GET /items/search?text={}&after={}&size={} - поиск вещей по тексту", pattern, after, size);
+        return itemClient.getItemsByPattern(pattern, after, size);
+    }
+
+    @GetMapping(path = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamItemsByPattern(
+            @RequestParam("text") String pattern,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Long after
+    ) {
+        log.info("GET /items/search?text={}&after={} - потоковый поиск вещей по тексту", pattern, after);
+        return outputStream -> itemClient.streamItemsByPattern(pattern, after, outputStream);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(
+    public Mono<ResponseEntity<Object>> updateItem(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @PathVariable Long itemId,
             @RequestBody ItemDto itemDto
@@ -75,8 +105,8 @@ public class ItemController {
     }
 
     @DeleteMapping("/{id}")
-    public void deleteItem(@PathVariable Long id) {
+    public Mono<Void> deleteItem(@PathVariable Long id) {
         log.info("DELETE /items/{} - удаление вещи", id);
-        itemClient.deleteItem(id);
+        return itemClient.deleteItem(id).then();
     }
 }
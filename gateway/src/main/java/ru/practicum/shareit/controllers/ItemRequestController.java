@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.ItemRequestClient;
 import ru.practicum.shareit.dto.ItemRequestDto;
 
@@ -18,7 +19,7 @@ public class ItemRequestController {
 
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(
+    public Mono<ResponseEntity<Object>> createRequest(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @Validated @RequestBody ItemRequestDto itemRequestDto
     ) {
@@ -26,12 +27,12 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> getUserRequests(@RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemRequestClient.getUserRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(
+    public Mono<ResponseEntity<Object>> getAllRequests(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @RequestParam(defaultValue = "0") int from,
             @RequestParam(defaultValue = "10") int size) {
@@ -39,7 +40,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(
+    public Mono<ResponseEntity<Object>> getRequestById(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @PathVariable Long requestId) {
         return itemRequestClient.getRequestById(userId, requestId);
@@ -1,15 +1,20 @@
 package ru.practicum.shareit.controllers;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.UserClient;
 import ru.practicum.shareit.dto.UserDto;
 import ru.practicum.shareit.validation.UpdateValidation;
 
+import java.io.IOException;
+
 
 @Slf4j
 @RestController
@@ -22,25 +27,31 @@ public class UserController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createUser(@Validated @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(@Validated @RequestBody UserDto userDto) {
         log.info("POST /users - создание нового пользователя: {}", userDto);
         return userClient.createUser(userDto);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Object>> importUsers(HttpServletRequest request) throws IOException {
+        log.info("POST /users/import - импорт пользователей из NDJSON-потока");
+        return userClient.importUsers(request.getInputStream());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUser(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable Long id) {
         log.info("GET /users/{} - получение пользователя по ID", id);
         return userClient.getUser(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.info("GET /users - получение всех пользователей");
         return userClient.getAllUsers();
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(
+    public Mono<ResponseEntity<Object>> updateUser(
             @Validated(UpdateValidation.class)
             @PathVariable Long id, @RequestBody UserDto userDto
     ) {
@@ -49,8 +60,8 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    public void deleteUser(@PathVariable Long id) {
+    public Mono<Void> deleteUser(@PathVariable Long id) {
         log.info("DELETE /users/{} - удаление пользователя", id);
-        userClient.deleteUser(id);
+        return userClient.deleteUser(id).then();
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingFilter {
+    @Builder.Default
+    private String state = "ALL";
+    private Long itemId;
+    private LocalDateTime rangeStart;
+    private LocalDateTime rangeEnd;
+}
@@ -1,17 +1,31 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingFilter;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
+import static ru.practicum.shareit.constant.Constants.BOOKING_CURSOR_INCOMPLETE;
 import static ru.practicum.shareit.constant.Constants.X_SHARER_USER_ID;
+import static ru.practicum.shareit.constant.Constants.X_TOTAL_COUNT;
 
 @Slf4j
+@Validated
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -27,6 +41,16 @@ public class BookingController {
         return bookingService.createBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createBookings(
+            @RequestHeader(X_SHARER_USER_ID) Long userId,
+            @RequestBody List<BookingDto> bookingDtos
+    ) {
+        log.info("POST /bookings/batch - пакетное создание {} бронирований от пользователя с ID={}",
+                bookingDtos.size(), userId);
+        return bookingService.createBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDtoResponse updateBookingStatus(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
@@ -48,26 +72,75 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingDtoResponse> getUserBookings(
+    public ResponseEntity<Collection<BookingDtoResponse>> getUserBookings(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @RequestParam(defaultValue = "ALL") String state,
-            @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rangeStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rangeEnd,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+            @RequestParam(required = false) @Positive Long afterId,
+            @RequestParam(defaultValue = "false") boolean withTotal
     ) {
-        log.info("GET /bookings?state={}&from={}&size={} - получение списка бронирований пользователя с ID={}",
-                state, from, size, userId);
-        return bookingService.getUserBookings(userId, state, from, size);
+        requireCompleteCursor(afterStart, afterId);
+        BookingFilter filter = new BookingFilter(state, itemId, rangeStart, rangeEnd);
+        Collection<BookingDtoResponse> bookings;
+        if (afterStart != null && afterId != null) {
+            log.info("GET /bookings?afterStart={}&afterId={}&size={} - получение списка бронирований пользователя с ID={}, фильтр: {}",
+                    afterStart, afterId, size, userId, filter);
+            bookings = bookingService.getUserBookings(userId, filter, afterStart, afterId, size);
+        } else {
+            log.info("GET /bookings?from={}&size={} - получение списка бронирований пользователя с ID={}, фильтр: {}",
+                    from, size, userId, filter);
+            bookings = bookingService.getUserBookings(userId, filter, from, size);
+        }
+        return withTotal
+                ? withTotalCount(bookings, bookingService.countUserBookings(userId, filter))
+                : ResponseEntity.ok(bookings);
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDtoResponse> getOwnerBookings(
+    public ResponseEntity<Collection<BookingDtoResponse>> getOwnerBookings(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @RequestParam(defaultValue = "ALL") String state,
-            @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rangeStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime rangeEnd,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+            @RequestParam(required = false) @Positive Long afterId,
+            @RequestParam(defaultValue = "false") boolean withTotal
     ) {
-        log.info("GET /bookings/owner?state={}&from={}&size={} - получение списка бронирований владельца с ID={}",
-                state, from, size, userId);
-        return bookingService.getOwnerBookings(userId, state, from, size);
+        requireCompleteCursor(afterStart, afterId);
+        BookingFilter filter = new BookingFilter(state, itemId, rangeStart, rangeEnd);
+        Collection<BookingDtoResponse> bookings;
+        if (afterStart != null && afterId != null) {
+            log.info("GET /bookings/owner?afterStart={}&afterId={}&size={} - получение списка бронирований владельца с ID={}, фильтр: {}",
+                    afterStart, afterId, size, userId, filter);
+            bookings = bookingService.getOwnerBookings(userId, filter, afterStart, afterId, size);
+        } else {
+            log.info("GET /bookings/owner?from={}&size={} - получение списка бронирований владельца с ID={}, фильтр: {}",
+                    from, size, userId, filter);
+            bookings = bookingService.getOwnerBookings(userId, filter, from, size);
+        }
+        return withTotal
+                ? withTotalCount(bookings, bookingService.countOwnerBookings(userId, filter))
+                : ResponseEntity.ok(bookings);
+    }
+
+    private static ResponseEntity<Collection<BookingDtoResponse>> withTotalCount(
+            Collection<BookingDtoResponse> bookings, long total) {
+        return ResponseEntity.ok()
+                .header(X_TOTAL_COUNT, String.valueOf(total))
+                .body(bookings);
+    }
+
+    private static void requireCompleteCursor(LocalDateTime afterStart, Long afterId) {
+        if ((afterStart == null) != (afterId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, BOOKING_CURSOR_INCOMPLETE);
+        }
     }
 }
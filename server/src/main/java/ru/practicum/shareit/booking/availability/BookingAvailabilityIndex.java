@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.availability.ItemSchedule.Slot;
+import ru.practicum.shareit.booking.lock.ItemLock;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import static ru.practicum.shareit.constant.Constants.BOOKING_PERIOD_OVERLAPS;
+
+/**
+ * Индекс занятости вещей по ожидающим и подтверждённым бронированиям.
+ * Расписание вещи загружается из БД при первом обращении и дальше поддерживается в памяти;
+ * изменения, сделанные в откатившейся транзакции, компенсируются. Число расписаний ограничено,
+ * а каждое через ttl после загрузки перечитывается из БД, чтобы не расходиться с ней.
+ * <p>
+ * Компенсация обязана выполниться, пока вещь ещё заблокирована: иначе транзакция, дождавшаяся блокировки,
+ * увидит расписание с освобождённым откатом периодом или с несуществующей бронью. Поэтому компенсация
+ * выполняется раньше снятия {@link ItemLock}. Advisory-блокировку база снимает уже при откате, до компенсации,
+ * но общая блокировка перечитывает расписание после захвата, и поздняя компенсация меняет уже вытесненную копию.
+ */
+@Slf4j
+@Component
+public class BookingAvailabilityIndex {
+    private static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemSchedule> schedules;
+
+    @Autowired
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${shareit.booking.availability.maximum-items:10000}") long maximumItems,
+                                    @Value("${shareit.booking.availability.ttl:10m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maximumItems)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public static boolean isBlocking(BookingStatus status) {
+        return BLOCKING_STATUSES.contains(status);
+    }
+
+    public boolean isAvailable(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return scheduleOf(itemId).isFree(null, start, end);
+    }
+
+    public void register(Booking booking) {
+        ItemSchedule schedule = scheduleOf(booking.getItem().getId());
+        Slot slot = new Slot(booking.getId(), booking.getStartDate(), booking.getEndDate());
+        Slot previous;
+        synchronized (schedule) {
+            if (!schedule.isFree(slot.bookingId(), slot.start(), slot.end())) {
+                throw new ValidationException(BOOKING_PERIOD_OVERLAPS);
+            }
+            previous = schedule.put(slot);
+        }
+        afterRollback(() -> {
+            if (previous != null) {
+                schedule.put(previous);
+            } else {
+                schedule.remove(slot.bookingId());
+            }
+        });
+    }
+
+    public void release(Booking booking) {
+        ItemSchedule schedule = schedules.getIfPresent(booking.getItem().getId());
+        if (schedule == null) return;
+
+        Slot removed = schedule.remove(booking.getId());
+        if (removed != null) afterRollback(() -> schedule.put(removed));
+    }
+
+    /**
+     * Перечитывает расписание вещи из БД. Вызывается под блокировкой вещи, поэтому видит все
+     * зафиксированные брони, в том числе записанные другими экземплярами сервера.
+     */
+    public void reload(Long itemId) {
+        schedules.put(itemId, load(itemId));
+    }
+
+    private ItemSchedule scheduleOf(Long itemId) {
+        ItemSchedule schedule = schedules.getIfPresent(itemId);
+        if (schedule == null) {
+            // запрос к БД не выполняется внутри computeIfAbsent: блокировка корзины ConcurrentHashMap
+            // задержала бы на время запроса обращения к соседним вещам
+            ItemSchedule loaded = load(itemId);
+            schedule = Objects.requireNonNullElse(schedules.asMap().putIfAbsent(itemId, loaded), loaded);
+        }
+        schedule.removeEndedBefore(LocalDateTime.now());
+        return schedule;
+    }
+
+    private ItemSchedule load(Long itemId) {
+        ItemSchedule schedule = new ItemSchedule();
+        bookingRepository.findByItemIdAndStatusInAndEndDateIsAfter(itemId, BLOCKING_STATUSES, LocalDateTime.now())
+                .forEach(booking -> schedule.put(
+                        new Slot(booking.getId(), booking.getStartDate(), booking.getEndDate())));
+        if (schedule.isOverlapping()) {
+            log.warn("Бронирования вещи с ID={} пересекаются, занятость проверяется полным просмотром", itemId);
+        }
+        return schedule;
+    }
+
+    private static void afterRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) compensation.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Расписание одной вещи: непересекающиеся полуинтервалы [start, end) блокирующих бронирований,
+ * упорядоченные по началу. Проверка пересечения сводится к поиску ближайшего предшественника.
+ * Брони, созданные до появления проверки, могут пересекаться; такое расписание проверяется полным просмотром.
+ */
+final class ItemSchedule {
+    private final NavigableSet<Slot> slots = new TreeSet<>(Slot.ORDER);
+    private final Map<Long, Slot> slotsByBookingId = new HashMap<>();
+    private boolean overlapping;
+
+    synchronized boolean isFree(Long exceptBookingId, LocalDateTime start, LocalDateTime end) {
+        Iterator<Slot> startingBeforeEnd = slots.headSet(Slot.probe(end), false).descendingIterator();
+        while (startingBeforeEnd.hasNext()) {
+            Slot candidate = startingBeforeEnd.next();
+            if (Objects.equals(candidate.bookingId(), exceptBookingId)) continue;
+            if (candidate.end().isAfter(start)) return false;
+            // без пересечений слоты раньше предшественника заканчиваются ещё раньше
+            if (!overlapping) return true;
+        }
+        return true;
+    }
+
+    synchronized Slot put(Slot slot) {
+        Slot previous = remove(slot.bookingId());
+        if (!overlapping && !isFree(slot.bookingId(), slot.start(), slot.end())) overlapping = true;
+        slots.add(slot);
+        slotsByBookingId.put(slot.bookingId(), slot);
+        return previous;
+    }
+
+    synchronized Slot remove(long bookingId) {
+        Slot slot = slotsByBookingId.remove(bookingId);
+        if (slot != null) slots.remove(slot);
+        return slot;
+    }
+
+    synchronized void removeEndedBefore(LocalDateTime moment) {
+        // непересекающиеся слоты упорядочены и по концу, поэтому закончившиеся лежат в начале набора
+        while (!slots.isEmpty() && !slots.first().end().isAfter(moment)) {
+            slotsByBookingId.remove(slots.pollFirst().bookingId());
+        }
+    }
+
+    synchronized boolean isOverlapping() {
+        return overlapping;
+    }
+
+    synchronized int size() {
+        return slots.size();
+    }
+
+    record Slot(long bookingId, LocalDateTime start, LocalDateTime end) {
+        static final Comparator<Slot> ORDER = Comparator.comparing(Slot::start).thenComparingLong(Slot::bookingId);
+
+        static Slot probe(LocalDateTime start) {
+            return new Slot(Long.MIN_VALUE, start, start);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingFilter {
+    @Builder.Default
+    private String state = "ALL";
+    private Long itemId;
+    private LocalDateTime rangeStart;
+    private LocalDateTime rangeEnd;
+
+    public static BookingFilter of(String state) {
+        return BookingFilter.builder().state(state).build();
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Даты подтверждённых бронирований вещи относительно текущего момента.
+ *
+ * @param lastBooking окончание последнего завершившегося бронирования
+ * @param nextBooking начало ближайшего будущего бронирования
+ * @param nearestEnd  ближайшее окончание ещё не завершившегося бронирования — после него меняется {@code lastBooking}
+ */
+public record ItemBookingDates(Long itemId, LocalDateTime lastBooking, LocalDateTime nextBooking,
+                               LocalDateTime nearestEnd) {
+
+    /**
+     * Момент, до которого даты остаются верными, либо {@code null}, если они не изменятся без новых бронирований.
+     */
+    public LocalDateTime validUntil() {
+        if (nextBooking == null) return nearestEnd;
+        if (nearestEnd == null) return nextBooking;
+        return nextBooking.isBefore(nearestEnd) ? nextBooking : nearestEnd;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Транзакционные advisory-блокировки PostgreSQL для развёртывания в несколько экземпляров сервера.
+ * Блокировка снимается базой данных при фиксации или откате транзакции.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.lock.mode", havingValue = "advisory")
+public class AdvisoryItemLock implements ItemLock {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void acquire(Long itemId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Блокировка вещи возможна только внутри транзакции");
+        }
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", itemId);
+    }
+
+    @Override
+    public void acquireAll(Collection<Long> itemIds) {
+        itemIds.stream()
+                .distinct()
+                .sorted()
+                .forEach(this::acquire);
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+}
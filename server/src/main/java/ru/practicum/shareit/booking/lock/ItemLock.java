@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.springframework.core.Ordered;
+
+import java.util.Collection;
+
+/**
+ * Блокировка бронирований одной вещи. Захваченная блокировка удерживается до завершения текущей транзакции,
+ * поэтому проверка занятости и запись брони выполняются для вещи строго последовательно.
+ */
+public interface ItemLock {
+    /**
+     * Порядок синхронизации, снимающей блокировку. Синхронизации, которые должны отработать под блокировкой,
+     * например компенсации отката, объявляют более высокий приоритет.
+     */
+    int RELEASE_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    void acquire(Long itemId);
+
+    void acquireAll(Collection<Long> itemIds);
+
+    /**
+     * Блокировка общая для всех экземпляров сервера. Тогда брони вещи могли быть записаны другим экземпляром,
+     * и расписание из памяти этого экземпляра после захвата нужно перечитать.
+     */
+    default boolean isShared() {
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Блокировки внутри процесса: идентификатор вещи отображается на один из фиксированного набора замков,
+ * так что конкуренция за одну вещь не задерживает бронирования остальных.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.lock.mode", havingValue = "local", matchIfMissing = true)
+public class StripedItemLock implements ItemLock {
+    private final ReentrantLock[] stripes;
+
+    @Autowired
+    public StripedItemLock(@Value("${shareit.booking.lock.stripes:256}") int stripeCount) {
+        stripes = new ReentrantLock[Integer.highestOneBit(Math.max(stripeCount - 1, 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) stripes[i] = new ReentrantLock();
+    }
+
+    @Override
+    public void acquire(Long itemId) {
+        lockUntilCompletion(stripeOf(itemId));
+    }
+
+    @Override
+    public void acquireAll(Collection<Long> itemIds) {
+        itemIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .forEach(this::lockUntilCompletion);
+    }
+
+    int stripeOf(Long itemId) {
+        int hash = Long.hashCode(itemId) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private void lockUntilCompletion(int stripe) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Блокировка вещи возможна только внутри транзакции");
+        }
+
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return RELEASE_ORDER;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingQueryRepository {
+    Sort LIST_ORDER = Sort.by(Sort.Direction.DESC, "startDate", "id");
+
+    /**
+     * Страница бронирований в порядке {@link #LIST_ORDER} вместе с вещью и арендатором, без подсчёта общего числа.
+     */
+    List<Booking> findPage(Specification<Booking> spec, int offset, int limit);
+}
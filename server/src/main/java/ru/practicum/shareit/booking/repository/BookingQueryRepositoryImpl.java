@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class BookingQueryRepositoryImpl implements BookingQueryRepository {
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Booking> findPage(Specification<Booking> spec, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+        query.select(root)
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(LIST_ORDER, root, cb));
+
+        EntityGraph<Booking> graph = entityManager.createEntityGraph(Booking.class);
+        graph.addAttributeNodes("item", "booker");
+
+        return entityManager.createQuery(query)
+                .setHint(FETCH_GRAPH_HINT, graph)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,46 +1,30 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    Page<Booking> findByBookerId(
-            Long bookerId,
-            Pageable pageable
-    );
-
-    Page<Booking> findByItemOwnerId(
-            Long ownerId,
-            Pageable pageable
-    );
-
-    Page<Booking> findByBookerIdAndEndDateIsBefore(
-            Long bookerId,
-            LocalDateTime end,
-            Pageable pageable
-    );
-
-    Page<Booking> findByBookerIdAndStartDateIsAfter(
-            Long bookerId,
-            LocalDateTime start,
-            Pageable pageable
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingQueryRepository {
+    Collection<Booking> findByItemId(
+            Long itemId
     );
 
-    Page<Booking> findByBookerIdAndStatus(
-            Long bookerId,
-            BookingStatus status,
-            Pageable pageable
+    List<Booking> findByItemIdIn(
+            Collection<Long> itemIds
     );
 
-    Collection<Booking> findByItemId(
-            Long itemId
+    List<Booking> findByItemIdAndStatusInAndEndDateIsAfter(
+            Long itemId,
+            Collection<BookingStatus> statuses,
+            LocalDateTime end
     );
 
     Collection<Booking> findByItemIdAndBookerIdAndEndDateIsBefore(
@@ -49,35 +33,27 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             LocalDateTime end
     );
 
-    Page<Booking> findByItemOwnerIdAndEndDateIsBefore(
-            Long ownerId,
-            LocalDateTime end,
-            Pageable pageable
-    );
-
-    Page<Booking> findByItemOwnerIdAndStartDateIsAfter(
-            Long ownerId,
-            LocalDateTime start,
-            Pageable pageable
-    );
-
-    Page<Booking> findByItemOwnerIdAndStatus(
-            Long ownerId,
-            BookingStatus status,
-            Pageable pageable
-    );
-
-    Page<Booking> findByBookerIdAndStartDateIsBeforeAndEndDateIsAfter(
-            Long bookerId,
-            LocalDateTime start,
-            LocalDateTime end,
-            Pageable pageable
-    );
-
-    Page<Booking> findByItemOwnerIdAndStartDateIsBeforeAndEndDateIsAfter(
-            Long ownerId,
-            LocalDateTime start,
-            LocalDateTime end,
-            Pageable pageable
+    /**
+     * Даты подтверждённых бронирований для каждой вещи. Каждый подзапрос берёт одну границу диапазона
+     * индексов bookings_item_status_end_idx / bookings_item_status_start_idx, поэтому стоимость не зависит
+     * от длины истории бронирований вещи.
+     */
+    @Query("""
+            select new ru.practicum.shareit.booking.dto.ItemBookingDates(i.id,
+                (select max(b.endDate) from Booking b
+                    where b.item.id = i.id and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED
+                    and b.endDate < :now),
+                (select min(b.startDate) from Booking b
+                    where b.item.id = i.id and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED
+                    and b.startDate > :now),
+                (select min(b.endDate) from Booking b
+                    where b.item.id = i.id and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED
+                    and b.endDate >= :now))
+            from Item i
+            where i.id in :itemIds
+            """)
+    List<ItemBookingDates> findBookingDates(
+            Collection<Long> itemIds,
+            LocalDateTime now
     );
 }
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public class BookingSpecifications {
+    public static Specification<Booking> byUser(Long userId, boolean isOwner) {
+        return isOwner
+                ? (root, query, cb) -> cb.equal(root.get("item").get("owner").get("id"), userId)
+                : (root, query, cb) -> cb.equal(root.get("booker").get("id"), userId);
+    }
+
+    public static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        return switch (state) {
+            case CURRENT -> (root, query, cb) -> cb.and(
+                    cb.lessThan(root.get("startDate"), now),
+                    cb.greaterThan(root.get("endDate"), now));
+            case PAST -> (root, query, cb) -> cb.lessThan(root.get("endDate"), now);
+            case FUTURE -> (root, query, cb) -> cb.greaterThan(root.get("startDate"), now);
+            case WAITING -> (root, query, cb) -> cb.equal(root.get("status"), BookingStatus.WAITING);
+            case REJECTED -> (root, query, cb) -> cb.equal(root.get("status"), BookingStatus.REJECTED);
+            case ALL -> (root, query, cb) -> cb.conjunction();
+        };
+    }
+
+    public static Specification<Booking> forItem(Long itemId) {
+        return itemId == null
+                ? (root, query, cb) -> cb.conjunction()
+                : (root, query, cb) -> cb.equal(root.get("item").get("id"), itemId);
+    }
+
+    /**
+     * Бронирования, пересекающиеся с периодом; незаданная граница не ограничивает выборку.
+     */
+    public static Specification<Booking> overlapping(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return (root, query, cb) -> cb.and(
+                rangeStart == null ? cb.conjunction() : cb.greaterThan(root.get("endDate"), rangeStart),
+                rangeEnd == null ? cb.conjunction() : cb.lessThan(root.get("startDate"), rangeEnd));
+    }
+
+    /**
+     * Бронирования, идущие после курсора при сортировке по убыванию (startDate, id).
+     */
+    public static Specification<Booking> afterCursor(LocalDateTime start, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("startDate"), start),
+                cb.and(
+                        cb.equal(root.get("startDate"), start),
+                        cb.lessThan(root.get("id"), id)));
+    }
+}
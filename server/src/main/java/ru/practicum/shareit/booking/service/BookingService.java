@@ -1,18 +1,34 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingFilter;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
     BookingDtoResponse createBooking(Long userId, BookingDto bookingDto);
 
+    List<BookingBatchResult> createBookings(Long userId, List<BookingDto> bookingDtos);
+
     BookingDtoResponse updateBookingStatus(Long userId, Long bookingId, boolean approved);
 
     BookingDtoResponse getBooking(Long userId, Long bookingId);
 
-    Collection<BookingDtoResponse> getUserBookings(Long userId, String state, int from, int size);
+    Collection<BookingDtoResponse> getUserBookings(Long userId, BookingFilter filter, int from, int size);
+
+    Collection<BookingDtoResponse> getOwnerBookings(Long userId, BookingFilter filter, int from, int size);
+
+    Collection<BookingDtoResponse> getUserBookings(Long userId, BookingFilter filter, LocalDateTime afterStart,
+                                                   Long afterId, int size);
+
+    Collection<BookingDtoResponse> getOwnerBookings(Long userId, BookingFilter filter, LocalDateTime afterStart,
+                                                    Long afterId, int size);
+
+    long countUserBookings(Long userId, BookingFilter filter);
 
-    Collection<BookingDtoResponse> getOwnerBookings(Long userId, String state, int from, int size);
+    long countOwnerBookings(Long userId, BookingFilter filter);
 }
@@ -2,14 +2,15 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.lock.ItemLock;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -17,19 +18,30 @@ import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.KnownUserIds;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBooking;
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingDtoResponse;
 import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
 import static ru.practicum.shareit.booking.model.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.*;
 import static ru.practicum.shareit.constant.Constants.*;
 
 @Service
@@ -38,9 +50,11 @@ import static ru.practicum.shareit.constant.Constants.*;
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final KnownUserIds knownUserIds;
     private final ItemRepository itemRepository;
-    private static final int DEFAULT_PAGE_SIZE = 10;
-    private static final int DEFAULT_PAGE_NUMBER = 0;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemLock itemLock;
+    private final ItemCardCache itemCardCache;
 
 
     @Override
@@ -55,12 +69,59 @@ public class BookingServiceImpl implements BookingService {
         if (Boolean.FALSE.equals(item.getAvailable()))
             throw new ValidationException(ITEM_NOT_AVAILABLE);
 
+        lockItem(item.getId());
         Booking booking = toBooking(booker, item, bookingDto);
 
         Booking savedBooking = bookingRepository.save(booking);
+        availabilityIndex.register(savedBooking);
+        itemCardCache.evict(item.getId());
         return toBookingDtoResponse(savedBooking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingBatchResult> createBookings(Long userId, List<BookingDto> bookingDtos) {
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format(USER_NOT_FOUND_ERR, userId)));
+
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        lockItems(items.keySet());
+
+        BookingBatchResult[] results = new BookingBatchResult[bookingDtos.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Booking> accepted = new ArrayList<>();
+        Map<Long, List<Booking>> acceptedByItem = new HashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            Item item = items.get(bookingDto.getItemId());
+            String error = checkBatchEntry(bookingDto, item, acceptedByItem);
+            if (error != null) {
+                results[i] = BookingBatchResult.builder().index(i).error(error).build();
+                continue;
+            }
+            Booking booking = toBooking(booker, item, bookingDto);
+            acceptedIndexes.add(i);
+            accepted.add(booking);
+            acceptedByItem.computeIfAbsent(item.getId(), id -> new ArrayList<>()).add(booking);
+        }
+
+        List<Booking> saved = bookingRepository.saveAll(accepted);
+        itemCardCache.evictAll(acceptedByItem.keySet());
+        for (int i = 0; i < saved.size(); i++) {
+            Booking booking = saved.get(i);
+            availabilityIndex.register(booking);
+            int index = acceptedIndexes.get(i);
+            results[index] = BookingBatchResult.builder().index(index).booking(toBookingDtoResponse(booking)).build();
+        }
+        log.info("Пакетное бронирование пользователя с ID={}: создано {} из {}", userId, saved.size(), results.length);
+        return List.of(results);
+    }
+
     @Override
     @Transactional
     public BookingDtoResponse updateBookingStatus(Long userId, Long bookingId, boolean approved) {
@@ -71,8 +132,15 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException(ONLY_OWNER_CAN_UPDATE_BOOKING_STATUS);
         }
 
+        lockItem(booking.getItem().getId());
         BookingStatus status = approved ? APPROVED : REJECTED;
+        if (BookingAvailabilityIndex.isBlocking(status)) {
+            availabilityIndex.register(booking);
+        } else {
+            availabilityIndex.release(booking);
+        }
         booking.setStatus(status);
+        itemCardCache.evict(booking.getItem().getId());
 
         return toBookingDtoResponse(booking);
     }
@@ -92,55 +160,93 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<BookingDtoResponse> getUserBookings(Long userId, String state, int from, int size) {
+    public Collection<BookingDtoResponse> getUserBookings(Long userId, BookingFilter filter, int from, int size) {
+        checkUserExists(userId);
+        return mapToDtoResponse(bookingRepository.findPage(toSpecification(userId, false, filter), from, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<BookingDtoResponse> getOwnerBookings(Long userId, BookingFilter filter, int from, int size) {
+        checkUserExists(userId);
+        return mapToDtoResponse(bookingRepository.findPage(toSpecification(userId, true, filter), from, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<BookingDtoResponse> getUserBookings(Long userId, BookingFilter filter, LocalDateTime afterStart,
+                                                          Long afterId, int size) {
+        checkUserExists(userId);
+        Specification<Booking> spec = toSpecification(userId, false, filter).and(afterCursor(afterStart, afterId));
+        return mapToDtoResponse(bookingRepository.findPage(spec, 0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<BookingDtoResponse> getOwnerBookings(Long userId, BookingFilter filter, LocalDateTime afterStart,
+                                                           Long afterId, int size) {
+        checkUserExists(userId);
+        Specification<Booking> spec = toSpecification(userId, true, filter).and(afterCursor(afterStart, afterId));
+        return mapToDtoResponse(bookingRepository.findPage(spec, 0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countUserBookings(Long userId, BookingFilter filter) {
         checkUserExists(userId);
-        BookingState bookingState = parseState(state);
-        Page<Booking> bookings = findBookingsByStatus(userId, bookingState, false,
-                DEFAULT_PAGE_NUMBER, DEFAULT_PAGE_SIZE);
-        return mapToDtoResponse(bookings.getContent());
+        return bookingRepository.count(toSpecification(userId, false, filter));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<BookingDtoResponse> getOwnerBookings(Long userId, String state, int from, int size) {
+    public long countOwnerBookings(Long userId, BookingFilter filter) {
         checkUserExists(userId);
-        BookingState bookingState = parseState(state);
-        Page<Booking> bookings = findBookingsByStatus(userId, bookingState, true,
-                DEFAULT_PAGE_NUMBER, DEFAULT_PAGE_SIZE);
-        return mapToDtoResponse(bookings.getContent());
-    }
-
-    private Page<Booking> findBookingsByStatus(Long userId, BookingState state, boolean isOwner,
-                                               int pageNumber, int pageSize) {
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(Sort.Direction.DESC, "startDate"));
-        LocalDateTime now = LocalDateTime.now();
-
-        return switch (state) {
-            case CURRENT -> isOwner
-                    ? bookingRepository.findByItemOwnerIdAndStartDateIsBeforeAndEndDateIsAfter(
-                    userId, now, now, pageable)
-                    : bookingRepository.findByBookerIdAndStartDateIsBeforeAndEndDateIsAfter(
-                    userId, now, now, pageable);
-            case PAST -> isOwner
-                    ? bookingRepository.findByItemOwnerIdAndEndDateIsBefore(userId, now, pageable)
-                    : bookingRepository.findByBookerIdAndEndDateIsBefore(userId, now, pageable);
-            case FUTURE -> isOwner
-                    ? bookingRepository.findByItemOwnerIdAndStartDateIsAfter(userId, now, pageable)
-                    : bookingRepository.findByBookerIdAndStartDateIsAfter(userId, now, pageable);
-            case WAITING -> isOwner
-                    ? bookingRepository.findByItemOwnerIdAndStatus(userId, BookingStatus.WAITING, pageable)
-                    : bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.WAITING, pageable);
-            case REJECTED -> isOwner
-                    ? bookingRepository.findByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED, pageable)
-                    : bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
-            case ALL -> isOwner
-                    ? bookingRepository.findByItemOwnerId(userId, pageable)
-                    : bookingRepository.findByBookerId(userId, pageable);
-        };
+        return bookingRepository.count(toSpecification(userId, true, filter));
+    }
+
+    private Specification<Booking> toSpecification(Long userId, boolean isOwner, BookingFilter filter) {
+        return byUser(userId, isOwner)
+                .and(inState(parseState(filter.getState()), LocalDateTime.now()))
+                .and(forItem(filter.getItemId()))
+                .and(overlapping(filter.getRangeStart(), filter.getRangeEnd()));
+    }
+
+    private String checkBatchEntry(BookingDto bookingDto, Item item, Map<Long, List<Booking>> acceptedByItem) {
+        if (item == null) return String.format(ITEM_NOT_FOUND_ERR, bookingDto.getItemId());
+        if (Boolean.FALSE.equals(item.getAvailable())) return ITEM_NOT_AVAILABLE;
+        if (bookingDto.getStart() == null || bookingDto.getEnd() == null
+                || !bookingDto.getStart().isBefore(bookingDto.getEnd())) {
+            return BOOKING_PERIOD_INVALID;
+        }
+
+        boolean overlapsBatch = acceptedByItem.getOrDefault(item.getId(), List.of()).stream()
+                .anyMatch(other -> other.getStartDate().isBefore(bookingDto.getEnd())
+                        && bookingDto.getStart().isBefore(other.getEndDate()));
+        if (overlapsBatch || !availabilityIndex.isAvailable(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            return BOOKING_PERIOD_OVERLAPS;
+        }
+        return null;
+    }
+
+    private void lockItem(Long itemId) {
+        itemLock.acquire(itemId);
+        reloadSchedulesIfShared(List.of(itemId));
+    }
+
+    private void lockItems(Collection<Long> itemIds) {
+        itemLock.acquireAll(itemIds);
+        reloadSchedulesIfShared(itemIds);
+    }
+
+    private void reloadSchedulesIfShared(Collection<Long> itemIds) {
+        // брони, записанные другим экземпляром сервера, видны только в БД; проверка занятости идёт по свежему расписанию
+        if (itemLock.isShared()) itemIds.forEach(availabilityIndex::reload);
     }
 
     private void checkUserExists(Long userId) {
-        if (!userRepository.existsById(userId)) throw new NotFoundException(String.format(USER_NOT_FOUND_ERR, userId));
+        if (knownUserIds.isDefinitelyAbsent(userId) || !userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format(USER_NOT_FOUND_ERR, userId));
+        }
     }
 
     private BookingState parseState(String state) {
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Кэши сервера. {@link #USERS} хранит UserDto по id, {@link #USER_EXISTS} - подтверждённое существование,
+ * {@link #ITEM_CARDS} - собранные карточки вещей. Записи вытесняются по размеру и по времени жизни,
+ * а сброс при изменении данных применяется только после коммита транзакции.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String USER_EXISTS = "userExists";
+    public static final String ITEM_CARDS = "itemCards";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.users.maximum-size:10000}") long usersMaximumSize,
+                                     @Value("${shareit.cache.users.ttl:10m}") Duration usersTtl,
+                                     @Value("${shareit.cache.item-cards.maximum-size:5000}") long cardsMaximumSize,
+                                     @Value("${shareit.cache.item-cards.ttl:5m}") Duration cardsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS, USER_EXISTS);
+        cacheManager.setCaffeine(caffeine(usersMaximumSize, usersTtl));
+        cacheManager.registerCustomCache(ITEM_CARDS, caffeine(cardsMaximumSize, cardsTtl).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private static Caffeine<Object, Object> caffeine(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats();
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETag для часто читаемых GET-ответов. Шлюз хранит ответы у себя и перепроверяет их запросом
+ * с If-None-Match: при совпадении хэша тела сервер отвечает 304 без тела.
+ */
+@Configuration
+public class HttpCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                // потоковые NDJSON-ответы не буферизуются ради хэша
+                String accept = request.getHeader(HttpHeaders.ACCEPT);
+                return accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+            }
+        };
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/items/*", "/users/*", "/requests/all");
+        return registration;
+    }
+}
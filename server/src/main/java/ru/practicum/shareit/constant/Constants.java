@@ -2,12 +2,24 @@ package ru.practicum.shareit.constant;
 
 public class Constants {
     public static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    public static final String X_TOTAL_COUNT = "X-Total-Count";
     public static final String USER_NOT_FOUND_ERR = "Пользователь с id %d не найден";
     public static final String USER_WITH_SAME_EMAIL_ERR = "Пользователь с email %s уже существует";
+    public static final String USER_NAME_BLANK_ERR = "Имя не должно быть пустым";
+    public static final String USER_EMAIL_INVALID_ERR = "Email должен иметь формат адреса электронной почты";
+    public static final String USER_IMPORT_MALFORMED_LINE_ERR = "Строка не является корректным JSON-объектом пользователя";
     public static final String BOOKING_NOT_FOUND_ERR = "Бронирование с id %d не найдено";
     public static final String ITEM_NOT_FOUND_ERR = "Вещь с id %d не найдена";
+    public static final String ITEM_NAME_BLANK_ERR = "Имя не должно быть пустым";
+    public static final String ITEM_DESCRIPTION_BLANK_ERR = "Описание не должно быть пустым";
+    public static final String ITEM_AVAILABLE_NULL_ERR = "Значение 'Available' не должно быть null";
+    public static final String ITEM_IMPORT_MALFORMED_LINE_ERR = "Строка не является корректным JSON-объектом вещи";
+    public static final String REQUEST_NOT_FOUND_ERR = "Запрос с id %d не найден";
     public static final String ITEM_NOT_AVAILABLE = "Товар недоступен для бронирования";
+    public static final String BOOKING_PERIOD_INVALID = "Дата окончания бронирования должна быть позже даты начала";
+    public static final String BOOKING_PERIOD_OVERLAPS = "Вещь уже забронирована на пересекающийся период";
     public static final String ONLY_OWNER_CAN_UPDATE_BOOKING_STATUS = "Только владелец может обновить статус бронирования товара";
     public static final String BOOKING_VIEW_PERMISSION_RESTRICTED = "Просмотр бронирования доступен только автору брони или владельцу вещи";
+    public static final String BOOKING_CURSOR_INCOMPLETE = "Курсор страницы задаётся обоими параметрами afterStart и afterId";
     public static final String UNKNOWN_STATE = "Неизвестное состояние %s. Поддерживаемые значения: %s ";
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Отклонённая при импорте строка: её номер во входном потоке, значение, по которому клиент
+ * узнает запись (email пользователя, имя вещи), и причина.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportError {
+    private long line;
+    private String value;
+    private String error;
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.importer;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Счётчики одного импорта. В ответе перечисляется не больше {@code maxReportedErrors} отклонённых строк,
+ * остальные только учитываются в {@code failed}.
+ */
+@Getter
+public class ImportProgress {
+    private final int maxReportedErrors;
+    private long processed;
+    private long created;
+    private long failed;
+    private final List<ImportError> errors = new ArrayList<>();
+
+    public ImportProgress(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void lineRead() {
+        processed++;
+    }
+
+    public void created(int count) {
+        created += count;
+    }
+
+    public void reject(long line, String value, String error) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ImportError(line, value, error));
+        }
+    }
+
+    public ImportResult toResult() {
+        List<ImportError> sorted = new ArrayList<>(errors);
+        sorted.sort(Comparator.comparingLong(ImportError::getLine));
+        return new ImportResult(processed, created, failed, sorted);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Итог импорта из NDJSON-потока: счётчики строк и ошибки по отдельным строкам.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    private long processed;
+    private long created;
+    private long failed;
+    private List<ImportError> errors;
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.importer;
+
+/**
+ * Распознанная строка NDJSON-потока вместе с её номером.
+ */
+public record ImportRow<T>(long line, T value) {
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Читает NDJSON-поток по одной строке и отдаёт распознанные строки пакетами: в памяти держится
+ * не больше одного пакета, сколько бы строк ни было в потоке.
+ */
+public class NdjsonBatchReader<T> {
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private final String malformedLineError;
+    private final int batchSize;
+
+    public NdjsonBatchReader(ObjectMapper objectMapper, Class<T> type, String malformedLineError, int batchSize) {
+        this.objectMapper = objectMapper;
+        this.type = type;
+        this.malformedLineError = malformedLineError;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Пустые строки пропускаются, строки с некорректным JSON отклоняются с {@code malformedLineError}.
+     * Строки, прошедшие {@code validator}, уходят в {@code flush} пакетами по {@code batchSize};
+     * validator сам отмечает отклонённые строки в {@code progress}.
+     */
+    public void read(InputStream body, ImportProgress progress, Predicate<ImportRow<T>> validator,
+                     Consumer<List<ImportRow<T>>> flush) throws IOException {
+        List<ImportRow<T>> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.lineRead();
+
+                T value;
+                try {
+                    value = objectMapper.readValue(line, type);
+                } catch (JsonProcessingException e) {
+                    progress.reject(lineNumber, null, malformedLineError);
+                    continue;
+                }
+                ImportRow<T> row = new ImportRow<>(lineNumber, value);
+                if (!validator.test(row)) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    flush.accept(List.copyOf(batch));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush.accept(List.copyOf(batch));
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.importer.ImportResult;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.importer.ItemImporter;
+import ru.practicum.shareit.item.search.ItemSearchQuery;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static ru.practicum.shareit.constant.Constants.X_SHARER_USER_ID;
@@ -18,8 +30,13 @@ import static ru.practicum.shareit.constant.Constants.X_SHARER_USER_ID;
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
+@Validated
 public class ItemController {
+    private static final int STREAM_PAGE_SIZE = 100;
+
     private final ItemService itemService;
+    private final ItemImporter itemImporter;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -31,6 +48,15 @@ public class ItemController {
         return itemService.createItem(userId, itemDto);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResult importItems(
+            @RequestHeader(X_SHARER_USER_ID) Long userId,
+            HttpServletRequest request
+    ) throws IOException {
+        log.info("POST /items/import - импорт вещей пользователем с ID={} из NDJSON-потока", userId);
+        return itemImporter.importItems(userId, request.getInputStream());
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(
             @RequestHeader(X_SHARER_USER_ID) Long userId,
@@ -58,9 +84,35 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDtoResponse> getItemsByPattern(@RequestParam("text") String pattern) {
-        log.info("GET /items/search?text={} - поиск вещей по тексту", pattern);
-        return new ArrayList<>(itemService.getItemsByPattern(pattern));
+    public List<ItemDtoResponse> getItemsByPattern(
+            @RequestParam("text") String pattern,
+            @RequestParam(defaultValue = "0") @PositiveOrZero long after,
+            @RequestParam(defaultValue = "10") @Positive int size
+    ) {
+        log.info("GET /items/search?text={}&after={}&size={} - поиск вещей по тексту", pattern, after, size);
+        return new ArrayList<>(itemService.getItemsByPattern(pattern, after, size));
+    }
+
+    @GetMapping(path = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamItemsByPattern(
+            @RequestParam("text") String pattern,
+            @RequestParam(defaultValue = "0") @PositiveOrZero long after
+    ) {
+        log.info("GET /items/search?text={}&after={} - потоковый поиск вещей по тексту", pattern, after);
+        return outputStream -> {
+            ItemSearchQuery query = itemService.prepareSearch(pattern);
+            long lastId = after;
+            Collection<ItemDtoResponse> page;
+            do {
+                page = itemService.getItemsByPattern(query, lastId, STREAM_PAGE_SIZE);
+                for (ItemDtoResponse item : page) {
+                    outputStream.write(objectMapper.writeValueAsBytes(item));
+                    outputStream.write('\n');
+                    lastId = item.getId();
+                }
+                outputStream.flush();
+            } while (page.size() == STREAM_PAGE_SIZE);
+        };
     }
 
     @PatchMapping("/{itemId}")
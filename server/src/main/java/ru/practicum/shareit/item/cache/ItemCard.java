@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.cache;
+
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Собранная карточка вещи: представление для владельца с датами бронирований и для остальных пользователей.
+ * Даты бронирований считаются от момента сборки, поэтому карточка устаревает в {@code validUntil}.
+ */
+public record ItemCard(Long ownerId, ItemDtoResponse ownerView, ItemDtoResponse publicView,
+                       LocalDateTime validUntil) {
+
+    public ItemDtoResponse viewFor(Long userId) {
+        return ownerId.equals(userId) ? ownerView : publicView;
+    }
+
+    public boolean isStaleAt(LocalDateTime now) {
+        return validUntil != null && !now.isBefore(validUntil);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.cache.CacheConfig.ITEM_CARDS;
+
+/**
+ * Кэш карточек вещей. Любое изменение вещи, её бронирований или отзывов сбрасывает карточку;
+ * в транзакции сброс откладывается до коммита.
+ */
+@Component
+public class ItemCardCache {
+    private final Cache cards;
+
+    public ItemCardCache(CacheManager cacheManager) {
+        this.cards = Objects.requireNonNull(cacheManager.getCache(ITEM_CARDS));
+    }
+
+    public ItemCard get(Long itemId, Function<Long, ItemCard> loader) {
+        ItemCard card = load(itemId, loader);
+        if (!card.isStaleAt(LocalDateTime.now())) return card;
+
+        // сброс в транзакции отложен до коммита, поэтому устаревшую карточку заменяем сразу свежей
+        ItemCard fresh = loader.apply(itemId);
+        cards.put(itemId, fresh);
+        return fresh;
+    }
+
+    public void evict(Long itemId) {
+        cards.evict(itemId);
+    }
+
+    public void evictAll(Collection<Long> itemIds) {
+        itemIds.forEach(cards::evict);
+    }
+
+    private ItemCard load(Long itemId, Function<Long, ItemCard> loader) {
+        try {
+            return cards.get(itemId, () -> loader.apply(itemId));
+        } catch (Cache.ValueRetrievalException e) {
+            // NotFoundException загрузчика должна дойти до обработчика ошибок как есть
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.importer.ImportProgress;
+import ru.practicum.shareit.importer.ImportResult;
+import ru.practicum.shareit.importer.ImportRow;
+import ru.practicum.shareit.importer.NdjsonBatchReader;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.constant.Constants.*;
+import static ru.practicum.shareit.item.mapper.ItemMapper.toItem;
+
+/**
+ * Импорт вещей владельца из NDJSON-потока: владелец загружается один раз,
+ * запросы пакета одним запросом, вещи пишутся пакетными вставками.
+ */
+@Slf4j
+@Component
+public class ItemImporter {
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository requestRepository;
+    private final ItemSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final NdjsonBatchReader<ItemDto> reader;
+    private final int maxReportedErrors;
+
+    public ItemImporter(ItemRepository itemRepository,
+                        UserRepository userRepository,
+                        ItemRequestRepository requestRepository,
+                        ItemSearchIndex searchIndex,
+                        ObjectMapper objectMapper,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${shareit.item.import.batch-size:500}") int batchSize,
+                        @Value("${shareit.item.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.requestRepository = requestRepository;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.reader = new NdjsonBatchReader<>(objectMapper, ItemDto.class, ITEM_IMPORT_MALFORMED_LINE_ERR, batchSize);
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportResult importItems(Long userId, InputStream body) throws IOException {
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format(USER_NOT_FOUND_ERR, userId)));
+
+        ImportProgress progress = new ImportProgress(maxReportedErrors);
+        reader.read(body, progress, row -> isValid(row, progress), batch -> flush(owner, batch, progress));
+
+        log.info("Импорт вещей пользователя {} завершён: обработано строк {}, создано {}, отклонено {}",
+                userId, progress.getProcessed(), progress.getCreated(), progress.getFailed());
+        return progress.toResult();
+    }
+
+    private boolean isValid(ImportRow<ItemDto> row, ImportProgress progress) {
+        ItemDto itemDto = row.value();
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            progress.reject(row.line(), itemDto.getName(), ITEM_NAME_BLANK_ERR);
+            return false;
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            progress.reject(row.line(), itemDto.getName(), ITEM_DESCRIPTION_BLANK_ERR);
+            return false;
+        }
+        if (itemDto.getAvailable() == null) {
+            progress.reject(row.line(), itemDto.getName(), ITEM_AVAILABLE_NULL_ERR);
+            return false;
+        }
+        return true;
+    }
+
+    private void flush(User owner, List<ImportRow<ItemDto>> batch, ImportProgress progress) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, ItemRequest> requests = requestRepository.findAllById(batch.stream()
+                            .map(row -> row.value().getRequestId())
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+            List<Item> items = new ArrayList<>(batch.size());
+            for (ImportRow<ItemDto> row : batch) {
+                Long requestId = row.value().getRequestId();
+                if (requestId != null && !requests.containsKey(requestId)) {
+                    progress.reject(row.line(), row.value().getName(), String.format(REQUEST_NOT_FOUND_ERR, requestId));
+                    continue;
+                }
+                Item item = toItem(row.value());
+                item.setOwner(owner);
+                item.setRequest(requestId != null ? requests.get(requestId) : null);
+                items.add(item);
+            }
+
+            searchIndex.indexAll(itemRepository.saveAll(items));
+            progress.created(items.size());
+        });
+
+        log.info("Импорт вещей пользователя {}: обработано строк {}, создано {}, отклонено {}",
+                owner.getId(), progress.getProcessed(), progress.getCreated(), progress.getFailed());
+    }
+}
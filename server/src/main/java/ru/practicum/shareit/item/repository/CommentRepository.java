@@ -1,11 +1,19 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     Collection<Comment> findByItemId(Long itemId);
+
+    @Query(" select c from Comment c " +
+            "join fetch c.author " +
+            "where c.item.id in :itemIds")
+    List<Comment> findByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
 }
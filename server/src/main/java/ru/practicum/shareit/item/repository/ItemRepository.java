@@ -1,20 +1,39 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String QUERY_CACHE_REGION = "item-queries";
 
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Item> findAllByOwnerId(Long id);
 
     @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', :text, '%')) " +
-            "   or upper(i.description) like upper(concat('%', :text, '%'))")
-    List<Item> search(@Param("text") String text);
+            "where i.available = true " +
+            "  and i.id > :after " +
+            "  and (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "   or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "order by i.id")
+    List<Item> search(@Param("text") String text, @Param("after") Long after, Limit limit);
 
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Item> findByRequestId(Long requestId);
+
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderById(Long id, Limit limit);
 }
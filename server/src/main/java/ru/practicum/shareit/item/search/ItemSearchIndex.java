@@ -0,0 +1,206 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс доступных вещей по триграммам названия и описания.
+ * Поиск возвращает кандидатов, среди которых гарантированно есть все вещи с вхождением подстроки;
+ * точное совпадение проверяется вызывающей стороной через {@link #matches(Item, String)}.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final char TEXT_START = '\u0002';
+    private static final char TEXT_END = '\u0003';
+    private static final long[] NO_IDS = new long[0];
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final NavigableMap<String, LongPostingList> postings = new TreeMap<>();
+    private final Map<Long, String[]> gramsByItem = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Autowired
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) return;
+
+        log.info("Building item search index");
+        long lastId = 0;
+        int indexed = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(lastId, Limit.of(REBUILD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                batch.forEach(item -> addItem(item.getId(), item.getName(), item.getDescription()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) lastId = batch.getLast().getId();
+            indexed += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        ready = true;
+        log.info("Item search index built: {} items, {} grams", indexed, postings.size());
+    }
+
+    public void index(Item item) {
+        indexAll(List.of(item));
+    }
+
+    /**
+     * Обновляет записи пачки вещей под одним захватом блокировки после коммита транзакции.
+     */
+    public void indexAll(Collection<Item> items) {
+        if (!enabled || items.isEmpty()) return;
+
+        List<IndexedItem> snapshot = items.stream()
+                .map(item -> new IndexedItem(item.getId(), item.getName(), item.getDescription(),
+                        Boolean.TRUE.equals(item.getAvailable())))
+                .toList();
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (IndexedItem item : snapshot) {
+                    removeItem(item.id());
+                    if (item.available()) addItem(item.id(), item.name(), item.description());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        if (!enabled) return;
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeItem(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public long[] search(String text) {
+        String query = normalize(text);
+        if (query.isEmpty()) return NO_IDS;
+
+        lock.readLock().lock();
+        try {
+            return query.length() < GRAM_LENGTH ? searchShort(query) : searchGrams(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static boolean matches(Item item, String text) {
+        String query = normalize(text);
+        return Boolean.TRUE.equals(item.getAvailable())
+                && (normalize(item.getName()).contains(query) || normalize(item.getDescription()).contains(query));
+    }
+
+    private long[] searchGrams(String query) {
+        List<LongPostingList> lists = new ArrayList<>();
+        for (String gram : grams(query, false)) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) return NO_IDS;
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+
+        long[] candidates = lists.getFirst().toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = lists.get(i).intersect(candidates);
+        }
+        return candidates;
+    }
+
+    private long[] searchShort(String query) {
+        // любое вхождение одного-двух символов начинает какой-то ключ индекса, поэтому хватает поиска по префиксу
+        long[] candidates = NO_IDS;
+        for (LongPostingList list : postings.subMap(query, true, query + Character.MAX_VALUE, true).values()) {
+            candidates = list.union(candidates);
+        }
+        return candidates;
+    }
+
+    private void addItem(long itemId, String name, String description) {
+        Set<String> itemGrams = grams(normalize(name), true);
+        itemGrams.addAll(grams(normalize(description), true));
+        itemGrams.forEach(gram -> postings.computeIfAbsent(gram, key -> new LongPostingList()).add(itemId));
+        gramsByItem.put(itemId, itemGrams.toArray(String[]::new));
+    }
+
+    private void removeItem(long itemId) {
+        String[] itemGrams = gramsByItem.remove(itemId);
+        if (itemGrams == null) return;
+
+        for (String gram : itemGrams) {
+            LongPostingList list = postings.get(gram);
+            if (list != null && list.remove(itemId) && list.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    private static Set<String> grams(String text, boolean padded) {
+        String source = padded ? TEXT_START + text + TEXT_END : text;
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= source.length(); i++) {
+            result.add(source.substring(i, i + GRAM_LENGTH));
+        }
+        // последний символ текста не начинает ни одной триграммы; ключ из него и конца текста
+        // нужен для поиска коротких запросов по префиксу
+        if (padded && !text.isEmpty()) result.add(source.substring(source.length() - 2));
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record IndexedItem(Long id, String name, String description, boolean available) {
+    }
+}
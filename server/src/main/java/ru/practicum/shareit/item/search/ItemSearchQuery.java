@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Поисковый запрос для постраничного обхода результатов. Кандидаты из индекса вычисляются
+ * один раз на весь обход; если индекс ещё не построен, кандидатов нет и страницы ищутся в БД.
+ */
+public record ItemSearchQuery(String pattern, long[] candidateIds) {
+
+    public boolean isIndexed() {
+        return candidateIds != null;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Отсортированный список идентификаторов на примитивном массиве long.
+ * Идентификаторы новых вещей растут, поэтому вставка обычно сводится к добавлению в конец.
+ */
+final class LongPostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    boolean add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) return false;
+
+        position = -position - 1;
+        if (size == ids.length) ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) return false;
+
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    long[] intersect(long[] sortedIds) {
+        long[] result = new long[Math.min(size, sortedIds.length)];
+        int count = 0;
+        for (long id : sortedIds) {
+            if (Arrays.binarySearch(ids, 0, size, id) >= 0) result[count++] = id;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    long[] union(long[] sortedIds) {
+        long[] result = new long[size + sortedIds.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < size && j < sortedIds.length) {
+            if (ids[i] < sortedIds[j]) {
+                result[count++] = ids[i++];
+            } else if (ids[i] > sortedIds[j]) {
+                result[count++] = sortedIds[j++];
+            } else {
+                result[count++] = ids[i++];
+                j++;
+            }
+        }
+        while (i < size) result[count++] = ids[i++];
+        while (j < sortedIds.length) result[count++] = sortedIds[j++];
+        return Arrays.copyOf(result, count);
+    }
+}
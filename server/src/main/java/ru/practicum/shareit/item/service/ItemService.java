@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.service;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.search.ItemSearchQuery;
 
 import java.util.Collection;
 
@@ -16,7 +17,14 @@ public interface ItemService {
 
     Collection<ItemDtoResponse> getUserItems(Long userId);
 
-    Collection<ItemDtoResponse> getItemsByPattern(String pattern);
+    Collection<ItemDtoResponse> getItemsByPattern(String pattern, long after, int size);
+
+    /**
+     * Готовит поиск для постраничного обхода: кандидаты из индекса ищутся один раз, а не на каждой странице.
+     */
+    ItemSearchQuery prepareSearch(String pattern);
+
+    Collection<ItemDtoResponse> getItemsByPattern(ItemSearchQuery query, long after, int size);
 
     ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto);
 
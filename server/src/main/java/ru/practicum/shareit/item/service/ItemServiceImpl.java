@@ -2,12 +2,16 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCard;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
@@ -15,6 +19,8 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchQuery;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -22,6 +28,8 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.item.mapper.CommentMapper.toComment;
 import static ru.practicum.shareit.item.mapper.CommentMapper.toCommentDto;
@@ -39,6 +47,8 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final UserService userService;
     private final ItemRequestRepository requestRepository;
+    private final ItemSearchIndex searchIndex;
+    private final ItemCardCache itemCardCache;
 
 
     @Override
@@ -51,6 +61,7 @@ public class ItemServiceImpl implements ItemService {
         Long requestId = itemDto.getRequestId();
         if (requestId != null) item.setRequest(requestRepository.findById(requestId).get());
         Item savedItem = itemRepository.save(item);
+        searchIndex.index(savedItem);
         log.info("Created item: {}", item);
         return toItemDto(savedItem);
     }
@@ -58,8 +69,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found with id: " + userId));
+        User user = toUser(userService.getUser(userId));
 
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found with id: " + itemId));
@@ -72,6 +82,7 @@ public class ItemServiceImpl implements ItemService {
 
         Comment comment = toComment(commentDto, item, user);
         Comment savedComment = commentRepository.save(comment);
+        itemCardCache.evict(itemId);
 
         return toCommentDto(savedComment);
     }
@@ -79,40 +90,44 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemDtoResponse getItem(Long userId, Long itemId) {
         log.info("Getting item with id: {}", itemId);
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Item not found with id: " + itemId));
-
-        if (!item.getOwner().getId().equals(userId)) {
-            Collection<Booking> bookings = bookingRepository.findByItemId(item.getId());
-            Collection<Comment> comments = commentRepository.findByItemId(item.getId());
-            return toItemDtoResponse(item, bookings, comments);
-        }
+        ItemDtoResponse item = itemCardCache.get(itemId, this::loadItemCard).viewFor(userId);
 
         log.info("Found item: {}", item);
-        return toItemDtoResponseWithBookingsAndComments(item);
+        return item;
     }
 
     @Override
     public Collection<ItemDtoResponse> getUserItems(Long userId) {
         log.info("Getting items for user with id: {}", userId);
         List<Item> items = new ArrayList<>(itemRepository.findAllByOwnerId(userId));
-        List<ItemDtoResponse> itemDtos = items.stream().map(this::toItemDtoResponseWithBookingsAndComments).toList();
+        List<ItemDtoResponse> itemDtos = toItemDtoResponsesWithBookingsAndComments(items);
 
         log.info("Found {} items for user with id: {}", items.size(), userId);
         return itemDtos;
     }
 
     @Override
-    public Collection<ItemDtoResponse> getItemsByPattern(String pattern) {
+    public Collection<ItemDtoResponse> getItemsByPattern(String pattern, long after, int size) {
+        return getItemsByPattern(prepareSearch(pattern), after, size);
+    }
+
+    @Override
+    public ItemSearchQuery prepareSearch(String pattern) {
+        return new ItemSearchQuery(pattern, searchIndex.isReady() ? searchIndex.search(pattern) : null);
+    }
+
+    @Override
+    public Collection<ItemDtoResponse> getItemsByPattern(ItemSearchQuery query, long after, int size) {
+        String pattern = query.pattern();
         if (pattern.trim().isEmpty()) return Collections.emptyList();
 
-        log.info("Searching items by pattern: {}", pattern);
+        log.info("Searching items by pattern: {}, after id: {}, size: {}", pattern, after, size);
 
-        List<Item> items = itemRepository.search(pattern).stream()
-                .filter(Item::getAvailable)
-                .toList();
+        List<Item> items = query.isIndexed()
+                ? findIndexedItems(query.candidateIds(), pattern, after, size)
+                : itemRepository.search(pattern, after, Limit.of(size));
 
-        List<ItemDtoResponse> itemDtos = items.stream().map(this::toItemDtoResponseWithBookingsAndComments).toList();
+        List<ItemDtoResponse> itemDtos = toItemDtoResponsesWithBookingsAndComments(items);
 
         log.info("Found {} items", items.size());
         return itemDtos;
@@ -121,7 +136,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto) {
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("User not found with id: " + userId));
+        if (!userRepository.existsById(userId)) throw new NotFoundException("User not found with id: " + userId);
 
         log.info("Updating item with id: {} for user with id: {}", itemId, userId);
         Item updatingItem = itemRepository.findById(itemId)
@@ -130,6 +145,8 @@ public class ItemServiceImpl implements ItemService {
         if (Objects.nonNull(itemDto.getName())) updatingItem.setName(itemDto.getName());
         if (Objects.nonNull(itemDto.getDescription())) updatingItem.setDescription(itemDto.getDescription());
         if (Objects.nonNull(itemDto.getAvailable())) updatingItem.setAvailable(itemDto.getAvailable());
+        searchIndex.index(updatingItem);
+        itemCardCache.evict(itemId);
 
         log.info("Updated item: {}", updatingItem);
         return toItemDto(updatingItem);
@@ -141,28 +158,72 @@ public class ItemServiceImpl implements ItemService {
     public void deleteItem(Long itemId) {
         log.info("Deleting item with id: {}", itemId);
         itemRepository.deleteById(itemId);
+        searchIndex.remove(itemId);
+        itemCardCache.evict(itemId);
         log.info("Item deleted: {}", itemId);
     }
 
-    private ItemDtoResponse toItemDtoResponseWithBookingsAndComments(Item item) {
-        Collection<Booking> bookings = bookingRepository.findByItemId(item.getId());
-        Collection<Comment> comments = commentRepository.findByItemId(item.getId());
+    private List<Item> findIndexedItems(long[] candidateIds, String pattern, long after, int size) {
+        int position = Arrays.binarySearch(candidateIds, after);
+        position = position >= 0 ? position + 1 : -position - 1;
+
+        List<Item> items = new ArrayList<>(size);
+        while (position < candidateIds.length && items.size() < size) {
+            int end = Math.min(position + size, candidateIds.length);
+            List<Long> chunk = Arrays.stream(candidateIds, position, end).boxed().toList();
+            itemRepository.findAllById(chunk).stream()
+                    .filter(item -> ItemSearchIndex.matches(item, pattern))
+                    .sorted(Comparator.comparing(Item::getId))
+                    .limit(size - items.size())
+                    .forEach(items::add);
+            position = end;
+        }
+        return items;
+    }
 
-        LocalDateTime lastBookingDate = bookings.stream()
-                .map(Booking::getEndDate)
-                .filter(Objects::nonNull)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
+    private ItemCard loadItemCard(Long itemId) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found with id: " + itemId));
+        Collection<Booking> bookings = bookingRepository.findByItemId(itemId);
+        Collection<Comment> comments = commentRepository.findByItemId(itemId);
+        ItemBookingDates dates = findBookingDates(List.of(itemId)).get(itemId);
+        return new ItemCard(item.getOwner().getId(),
+                toItemDtoResponseWithBookingsAndComments(item, bookings, comments, dates),
+                toItemDtoResponse(item, bookings, comments),
+                dates == null ? null : dates.validUntil());
+    }
 
-        LocalDateTime nextBookingDate = bookings.stream()
-                .map(Booking::getStartDate)
-                .filter(Objects::nonNull)
-                .min(LocalDateTime::compareTo)
-                .orElse(null);
+    private List<ItemDtoResponse> toItemDtoResponsesWithBookingsAndComments(Collection<Item> items) {
+        if (items.isEmpty()) return Collections.emptyList();
+
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        Map<Long, List<Booking>> bookingsByItem = bookingRepository.findByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Map<Long, List<Comment>> commentsByItem = commentRepository.findByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        Map<Long, ItemBookingDates> datesByItem = findBookingDates(itemIds);
+
+        return items.stream()
+                .map(item -> toItemDtoResponseWithBookingsAndComments(item,
+                        bookingsByItem.getOrDefault(item.getId(), Collections.emptyList()),
+                        commentsByItem.getOrDefault(item.getId(), Collections.emptyList()),
+                        datesByItem.get(item.getId())))
+                .toList();
+    }
 
+    private Map<Long, ItemBookingDates> findBookingDates(Collection<Long> itemIds) {
+        return bookingRepository.findBookingDates(itemIds, LocalDateTime.now()).stream()
+                .collect(Collectors.toMap(ItemBookingDates::itemId, Function.identity()));
+    }
+
+    private ItemDtoResponse toItemDtoResponseWithBookingsAndComments(
+            Item item, Collection<Booking> bookings, Collection<Comment> comments, ItemBookingDates dates
+    ) {
         ItemDtoResponse itemDtoResponse = toItemDtoResponse(item, bookings, comments);
-        itemDtoResponse.setLastBooking(lastBookingDate);
-        itemDtoResponse.setNextBooking(nextBookingDate);
+        if (dates != null) {
+            itemDtoResponse.setLastBooking(dates.lastBooking());
+            itemDtoResponse.setNextBooking(dates.nextBooking());
+        }
         return itemDtoResponse;
     }
-}
\ No newline at end of file
+}
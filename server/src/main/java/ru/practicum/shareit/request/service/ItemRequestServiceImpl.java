@@ -15,6 +15,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.KnownUserIds;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
@@ -30,6 +31,7 @@ import static ru.practicum.shareit.request.mapper.ItemRequestMapper.toItemReques
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final KnownUserIds knownUserIds;
     private final ItemRepository itemRepository;
 
 
@@ -100,6 +102,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private void checkUserExists(Long userId) {
-        if (!userRepository.existsById(userId)) throw new NotFoundException("User not found with id: " + userId);
+        if (knownUserIds.isDefinitelyAbsent(userId) || !userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found with id: " + userId);
+        }
     }
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package ru.practicum.shareit.user;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.importer.ImportResult;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.importer.UserImporter;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,6 +22,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final UserImporter userImporter;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -25,6 +31,12 @@ public class UserController {
         return userService.createUser(userDto);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResult importUsers(HttpServletRequest request) throws IOException {
+        log.info("POST /users/import - импорт пользователей из NDJSON-потока");
+        return userImporter.importUsers(request.getInputStream());
+    }
+
     @GetMapping("/{id}")
     public UserDto getUser(@PathVariable Long id) {
         log.info("GET /users/{} - получение пользователя по ID", id);
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.user.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Битовая карта id существующих пользователей. Отвечает только на вопрос «точно ли пользователя нет»:
+ * сброшенный бит означает отсутствие без запроса к БД, установленный требует обычной проверки.
+ * Карта полностью перестраивается по таблице users при старте и периодически,
+ * создание и удаление пользователей применяются после коммита.
+ * <p>
+ * Карта своя у каждого экземпляра и видит только пользователей, созданных им самим, поэтому включается
+ * лишь при единственном экземпляре сервера: вместе с межпроцессными блокировками
+ * ({@code shareit.booking.lock.mode=advisory}) приложение не стартует. Id за пределами карты
+ * (больше {@link Integer#MAX_VALUE}) всегда проверяются в БД.
+ */
+@Slf4j
+@Component
+public class KnownUserIds {
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BitSet ids = new BitSet();
+    private List<Long> addedDuringRebuild;
+    private volatile boolean ready;
+
+    @Autowired
+    public KnownUserIds(UserRepository userRepository,
+                        @Value("${shareit.user.known-ids.enabled:false}") boolean enabled,
+                        @Value("${shareit.booking.lock.mode:local}") String lockMode) {
+        if (enabled && !"local".equals(lockMode)) {
+            throw new IllegalStateException("shareit.user.known-ids.enabled поддерживается только с "
+                    + "shareit.booking.lock.mode=local: карта id не видит пользователей, созданных другими экземплярами");
+        }
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isDefinitelyAbsent(Long userId) {
+        if (!ready) return false;
+        if (userId == null) return true;
+        if (!inRange(userId)) return false;
+
+        lock.readLock().lock();
+        try {
+            return !ids.get(userId.intValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Long userId) {
+        if (!enabled || !inRange(userId)) return;
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                ids.set(userId.intValue());
+                if (addedDuringRebuild != null) addedDuringRebuild.add(userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long userId) {
+        if (!enabled || !inRange(userId)) return;
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                ids.clear(userId.intValue());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${shareit.user.known-ids.rebuild-interval:PT10M}",
+            fixedDelayString = "${shareit.user.known-ids.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        BitSet fresh = new BitSet();
+        long lastId = 0;
+        List<Long> batch;
+        do {
+            batch = userRepository.findIdsAfter(lastId, Limit.of(REBUILD_BATCH_SIZE));
+            batch.stream().filter(KnownUserIds::inRange).forEach(id -> fresh.set(id.intValue()));
+            if (!batch.isEmpty()) lastId = batch.getLast();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            // созданные во время обхода могли не попасть в выборку; удалённые за это время
+            // остаются установленными и лишь отправляют проверку в БД
+            addedDuringRebuild.forEach(id -> fresh.set(id.intValue()));
+            addedDuringRebuild = null;
+            ids = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Known user ids rebuilt: {} users", fresh.cardinality());
+    }
+
+    private static boolean inRange(Long userId) {
+        return userId > 0 && userId <= Integer.MAX_VALUE;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.user.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.importer.ImportProgress;
+import ru.practicum.shareit.importer.ImportResult;
+import ru.practicum.shareit.importer.ImportRow;
+import ru.practicum.shareit.importer.NdjsonBatchReader;
+import ru.practicum.shareit.user.cache.KnownUserIds;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static ru.practicum.shareit.constant.Constants.*;
+
+/**
+ * Импорт пользователей из NDJSON-потока: строки читаются по одной и пишутся пакетами,
+ * уникальность email проверяется одним запросом на пакет.
+ */
+@Slf4j
+@Component
+public class UserImporter {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(".+@.+\\..+$");
+
+    private final UserRepository userRepository;
+    private final KnownUserIds knownUserIds;
+    private final TransactionTemplate transactionTemplate;
+    private final NdjsonBatchReader<UserDto> reader;
+    private final int maxReportedErrors;
+
+    public UserImporter(UserRepository userRepository,
+                        KnownUserIds knownUserIds,
+                        ObjectMapper objectMapper,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${shareit.user.import.batch-size:500}") int batchSize,
+                        @Value("${shareit.user.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.knownUserIds = knownUserIds;
+        this.transactionTemplate = transactionTemplate;
+        this.reader = new NdjsonBatchReader<>(objectMapper, UserDto.class, USER_IMPORT_MALFORMED_LINE_ERR, batchSize);
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportResult importUsers(InputStream body) throws IOException {
+        ImportProgress progress = new ImportProgress(maxReportedErrors);
+        reader.read(body, progress, row -> isValid(row, progress), batch -> flush(batch, progress));
+
+        log.info("Импорт пользователей завершён: обработано строк {}, создано {}, отклонено {}",
+                progress.getProcessed(), progress.getCreated(), progress.getFailed());
+        return progress.toResult();
+    }
+
+    private boolean isValid(ImportRow<UserDto> row, ImportProgress progress) {
+        UserDto userDto = row.value();
+        if (userDto.getName() == null || userDto.getName().isBlank()) {
+            progress.reject(row.line(), userDto.getEmail(), USER_NAME_BLANK_ERR);
+            return false;
+        }
+        if (userDto.getEmail() == null || !EMAIL_PATTERN.matcher(userDto.getEmail()).matches()) {
+            progress.reject(row.line(), userDto.getEmail(), USER_EMAIL_INVALID_ERR);
+            return false;
+        }
+        return true;
+    }
+
+    private void flush(List<ImportRow<UserDto>> batch, ImportProgress progress) {
+        Set<String> taken = new HashSet<>(userRepository.findExistingEmails(
+                batch.stream().map(row -> row.value().getEmail()).toList()));
+
+        List<ImportRow<UserDto>> accepted = new ArrayList<>(batch.size());
+        for (ImportRow<UserDto> row : batch) {
+            if (taken.add(row.value().getEmail())) {
+                accepted.add(row);
+            } else {
+                rejectTakenEmail(row, progress);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(
+                            accepted.stream().map(row -> toUser(row.value())).toList())
+                    .forEach(user -> knownUserIds.add(user.getId())));
+            progress.created(accepted.size());
+        } catch (DataIntegrityViolationException e) {
+            // email заняли между проверкой и записью: пакет откатился, сохраняем его строки по одной
+            log.warn("Пакет импорта пользователей отклонён базой, повтор по одной строке: {}", e.getMessage());
+            accepted.forEach(row -> saveSingle(row, progress));
+        }
+
+        log.info("Импорт пользователей: обработано строк {}, создано {}, отклонено {}",
+                progress.getProcessed(), progress.getCreated(), progress.getFailed());
+    }
+
+    private void saveSingle(ImportRow<UserDto> row, ImportProgress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    knownUserIds.add(userRepository.save(toUser(row.value())).getId()));
+            progress.created(1);
+        } catch (DataIntegrityViolationException e) {
+            rejectTakenEmail(row, progress);
+        }
+    }
+
+    private static void rejectTakenEmail(ImportRow<UserDto> row, ImportProgress progress) {
+        progress.reject(row.line(), row.value().getEmail(),
+                String.format(USER_WITH_SAME_EMAIL_ERR, row.value().getEmail()));
+    }
+
+    // каждый раз новая сущность: после отката у прежней остался бы выданный id
+    private static User toUser(UserDto userDto) {
+        User entity = new User();
+        entity.setName(userDto.getName());
+        entity.setEmail(userDto.getEmail());
+        return entity;
+    }
+}
@@ -1,7 +1,27 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static ru.practicum.shareit.cache.CacheConfig.USER_EXISTS;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // кэшируется только положительный ответ: id новых пользователей не должны застревать как отсутствующие
+    @Override
+    @Cacheable(cacheNames = USER_EXISTS, unless = "!#result")
+    boolean existsById(Long id);
+
+    @Query("select u.id from User u where u.id > :after order by u.id")
+    List<Long> findIdsAfter(Long after, Limit limit);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(Collection<String> emails);
 }
@@ -1,10 +1,22 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.cache.KnownUserIds;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -14,6 +26,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import static ru.practicum.shareit.cache.CacheConfig.ITEM_CARDS;
+import static ru.practicum.shareit.cache.CacheConfig.USERS;
+import static ru.practicum.shareit.cache.CacheConfig.USER_EXISTS;
 import static ru.practicum.shareit.user.mapper.UserMapper.toUser;
 import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
 
@@ -22,10 +37,15 @@ import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final KnownUserIds knownUserIds;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, KnownUserIds knownUserIds,
+                           EntityManagerFactory entityManagerFactory) {
         this.userRepository = userRepository;
+        this.knownUserIds = knownUserIds;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
 
@@ -35,11 +55,13 @@ public class UserServiceImpl implements UserService {
         log.info("Creating user: {}", userDto);
         User user = toUser(userDto);
         User savedUser = userRepository.save(user);
+        knownUserIds.add(savedUser.getId());
         log.info("Created user: {}", savedUser);
         return toUserDto(savedUser);
     }
 
     @Override
+    @Cacheable(cacheNames = USERS, key = "#id")
     public UserDto getUser(Long id) {
         log.info("Getting user with id: {}", id);
         User user = userRepository.findById(id)
@@ -60,6 +82,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS, key = "#id"),
+            // имя пользователя показывается в отзывах и бронированиях карточек вещей
+            @CacheEvict(cacheNames = ITEM_CARDS, allEntries = true, condition = "#userDto.name != null")
+    })
     public UserDto updateUser(Long id, UserDto userDto) {
         log.info("Updating user with id: {}", id);
         User updatingUser = userRepository.findById(id)
@@ -74,9 +101,39 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS, key = "#id"),
+            @CacheEvict(cacheNames = USER_EXISTS, key = "#id"),
+            @CacheEvict(cacheNames = ITEM_CARDS, allEntries = true)
+    })
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {}", id);
         userRepository.deleteById(id);
+        knownUserIds.remove(id);
+        // вещи и запросы пользователя удаляет каскад в БД, мимо кэша второго уровня; ответы других
+        // пользователей на его запросы теряют ссылку на запрос там же
+        afterCommit(this::evictCascadedRegions);
         log.info("User deleted: {}", id);
     }
-}
\ No newline at end of file
+
+    private void evictCascadedRegions() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Item.class);
+        cache.evictEntityData(ItemRequest.class);
+        cache.evictQueryRegion(ItemRepository.QUERY_CACHE_REGION);
+        log.info("Evicted item and request caches after cascading user delete");
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
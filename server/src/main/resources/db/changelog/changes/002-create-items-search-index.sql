@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset shareit:002-create-items-search-index dbms:postgresql
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_available_name_trgm_idx
+    ON items USING gin (upper(name) gin_trgm_ops)
+    WHERE is_available;
+
+CREATE INDEX IF NOT EXISTS items_available_description_trgm_idx
+    ON items USING gin (upper(description) gin_trgm_ops)
+    WHERE is_available;
+--rollback DROP INDEX IF EXISTS items_available_description_trgm_idx;
+--rollback DROP INDEX IF EXISTS items_available_name_trgm_idx;
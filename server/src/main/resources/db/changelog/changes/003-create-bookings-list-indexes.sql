@@ -0,0 +1,22 @@
+--liquibase formatted sql
+
+--changeset shareit:003-create-bookings-list-indexes
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx
+    ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx
+    ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx
+    ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx
+    ON bookings (item_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS items_owner_idx
+    ON items (owner_id);
+--rollback DROP INDEX IF EXISTS items_owner_idx;
+--rollback DROP INDEX IF EXISTS bookings_item_status_start_idx;
+--rollback DROP INDEX IF EXISTS bookings_item_start_idx;
+--rollback DROP INDEX IF EXISTS bookings_booker_status_start_idx;
+--rollback DROP INDEX IF EXISTS bookings_booker_start_idx;
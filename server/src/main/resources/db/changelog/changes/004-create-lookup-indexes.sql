@@ -0,0 +1,32 @@
+--liquibase formatted sql
+
+--changeset shareit:004-create-lookup-indexes
+-- занятые периоды вещи: BookingRepository.findByItemIdAndStatusInAndEndDateIsAfter
+CREATE INDEX IF NOT EXISTS bookings_item_status_end_idx
+    ON bookings (item_id, status, end_date);
+
+-- право оставить отзыв: BookingRepository.findByItemIdAndBookerIdAndEndDateIsBefore
+CREATE INDEX IF NOT EXISTS bookings_item_booker_end_idx
+    ON bookings (item_id, booker_id, end_date);
+
+-- отзывы к вещам: CommentRepository.findByItemId / findByItemIdIn
+CREATE INDEX IF NOT EXISTS comments_item_idx
+    ON comments (item_id);
+
+-- ответы на запрос: ItemRepository.findByRequestId
+CREATE INDEX IF NOT EXISTS items_request_idx
+    ON items (request_id);
+
+-- свои запросы: ItemRequestRepository.findByRequestorId, новые сверху
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx
+    ON requests (requestor_id, created_at DESC);
+
+-- все запросы постранично, новые сверху
+CREATE INDEX IF NOT EXISTS requests_created_idx
+    ON requests (created_at DESC);
+--rollback DROP INDEX IF EXISTS requests_created_idx;
+--rollback DROP INDEX IF EXISTS requests_requestor_created_idx;
+--rollback DROP INDEX IF EXISTS items_request_idx;
+--rollback DROP INDEX IF EXISTS comments_item_idx;
+--rollback DROP INDEX IF EXISTS bookings_item_booker_end_idx;
+--rollback DROP INDEX IF EXISTS bookings_item_status_end_idx;
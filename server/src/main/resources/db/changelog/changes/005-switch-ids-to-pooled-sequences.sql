@@ -0,0 +1,49 @@
+--liquibase formatted sql
+
+--changeset shareit:005-switch-ids-to-pooled-sequences dbms:postgresql
+-- Hibernate выдаёт id блоками по 50 (pooled), поэтому счётчик сдвигается за текущий максимум;
+-- default на колонке сохраняет вставки в обход приложения (psql, скрипты импорта) без явного id
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS users_id_seq INCREMENT BY 50 OWNED BY users.id;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_id_seq');
+SELECT setval('users_id_seq', COALESCE(MAX(id), 0) + 1) FROM users;
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS requests_id_seq INCREMENT BY 50 OWNED BY requests.id;
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_id_seq');
+SELECT setval('requests_id_seq', COALESCE(MAX(id), 0) + 1) FROM requests;
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS items_id_seq INCREMENT BY 50 OWNED BY items.id;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_id_seq');
+SELECT setval('items_id_seq', COALESCE(MAX(id), 0) + 1) FROM items;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS bookings_id_seq INCREMENT BY 50 OWNED BY bookings.id;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_id_seq');
+SELECT setval('bookings_id_seq', COALESCE(MAX(id), 0) + 1) FROM bookings;
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS comments_id_seq INCREMENT BY 50 OWNED BY comments.id;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_id_seq');
+SELECT setval('comments_id_seq', COALESCE(MAX(id), 0) + 1) FROM comments;
+--rollback ALTER TABLE comments ALTER COLUMN id DROP DEFAULT;
+--rollback DROP SEQUENCE IF EXISTS comments_id_seq;
+--rollback ALTER TABLE comments ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+--rollback SELECT setval(pg_get_serial_sequence('comments', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM comments;
+--rollback ALTER TABLE bookings ALTER COLUMN id DROP DEFAULT;
+--rollback DROP SEQUENCE IF EXISTS bookings_id_seq;
+--rollback ALTER TABLE bookings ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+--rollback SELECT setval(pg_get_serial_sequence('bookings', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM bookings;
+--rollback ALTER TABLE items ALTER COLUMN id DROP DEFAULT;
+--rollback DROP SEQUENCE IF EXISTS items_id_seq;
+--rollback ALTER TABLE items ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+--rollback SELECT setval(pg_get_serial_sequence('items', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM items;
+--rollback ALTER TABLE requests ALTER COLUMN id DROP DEFAULT;
+--rollback DROP SEQUENCE IF EXISTS requests_id_seq;
+--rollback ALTER TABLE requests ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+--rollback SELECT setval(pg_get_serial_sequence('requests', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM requests;
+--rollback ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+--rollback DROP SEQUENCE IF EXISTS users_id_seq;
+--rollback ALTER TABLE users ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+--rollback SELECT setval(pg_get_serial_sequence('users', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM users;
@@ -0,0 +1,148 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.byUser;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.inState;
+
+/**
+ * Горячие запросы репозиториев не должны сваливаться в полный просмотр таблицы.
+ * Схема и индексы создаются тем же changelog Liquibase, что и в рабочей базе, а план строится
+ * по SQL, который сгенерировал Hibernate при вызове репозитория.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.liquibase.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.QueryPlanTest$CapturedStatements",
+        "spring.datasource.url=jdbc:h2:mem:plandb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+})
+class QueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @BeforeEach
+    void setUp() {
+        CapturedStatements.SQL.clear();
+    }
+
+    static Stream<Arguments> hotQueries() {
+        Sort byCreated = Sort.by(Sort.Direction.DESC, "created");
+        return Stream.of(
+                // списки бронирований арендатора: все и по статусу
+                query("бронирования арендатора", t -> t.bookingRepository.findPage(
+                        byUser(1L, false).and(inState(BookingState.ALL, NOW)), 0, 10)),
+                query("бронирования арендатора по статусу", t -> t.bookingRepository.findPage(
+                        byUser(1L, false).and(inState(BookingState.WAITING, NOW)), 0, 10)),
+                // списки бронирований владельца
+                query("бронирования владельца", t -> t.bookingRepository.findPage(
+                        byUser(1L, true).and(inState(BookingState.ALL, NOW)), 0, 10)),
+                query("бронирования владельца по статусу", t -> t.bookingRepository.findPage(
+                        byUser(1L, true).and(inState(BookingState.REJECTED, NOW)), 0, 10)),
+                // занятые периоды вещи и право оставить отзыв
+                query("занятые периоды вещи", t -> t.bookingRepository.findByItemIdAndStatusInAndEndDateIsAfter(
+                        1L, List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW)),
+                query("право оставить отзыв", t -> t.bookingRepository.findByItemIdAndBookerIdAndEndDateIsBefore(
+                        1L, 2L, NOW)),
+                // бронирования и отзывы для карточек вещей
+                query("бронирования вещей", t -> t.bookingRepository.findByItemIdIn(List.of(1L, 2L, 3L))),
+                query("даты бронирований вещей", t -> t.bookingRepository.findBookingDates(List.of(1L, 2L, 3L), NOW)),
+                query("отзывы о вещах", t -> t.commentRepository.findByItemIdIn(List.of(1L, 2L, 3L))),
+                // вещи владельца и ответы на запрос
+                query("вещи владельца", t -> t.itemRepository.findAllByOwnerId(1L)),
+                query("ответы на запрос", t -> t.itemRepository.findByRequestId(1L)),
+                // запросы: свои и все постранично
+                query("свои запросы", t -> t.itemRequestRepository.findByRequestorId(1L, byCreated)),
+                query("все запросы", t -> t.itemRequestRepository.findAll(PageRequest.of(0, 10, byCreated)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    @DisplayName("Запрос использует индекс")
+    void hotQuery_shouldNotScanWholeTable(Consumer<QueryPlanTest> call) {
+        call.accept(this);
+
+        assertFalse(CapturedStatements.SQL.isEmpty(), "Запрос не дошёл до базы");
+        for (String sql : CapturedStatements.SQL) {
+            String plan = explain(sql);
+            assertFalse(plan.contains("tableScan"), () -> "Полный просмотр таблицы:\n" + sql + "\n" + plan);
+        }
+    }
+
+    /**
+     * План строится при подготовке запроса, поэтому значения параметров для EXPLAIN не нужны.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (var statement = connection.prepareStatement("explain " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (var resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private static Arguments query(String name, Consumer<QueryPlanTest> call) {
+        return arguments(Named.of(name, call));
+    }
+
+    /**
+     * Запоминает каждый SQL, который Hibernate отправляет в базу.
+     */
+    public static class CapturedStatements implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
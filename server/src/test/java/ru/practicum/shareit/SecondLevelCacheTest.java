@@ -0,0 +1,87 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(new User(null, "owner", "l2-owner-" + System.nanoTime() + "@mail.ru"));
+        saveItem("Дрель");
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Сущности читаются из своих регионов без запроса к БД")
+    void findById_shouldBeServedFromEntityRegion() {
+        userRepository.findById(owner.getId()).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "users").tag("result", "hit").functionCounter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Вещи владельца берутся из кэша запросов до следующей записи в items")
+    void findAllByOwnerId_shouldUseQueryCacheUntilItemsChange() {
+        itemRepository.findAllByOwnerId(owner.getId());
+        itemRepository.findAllByOwnerId(owner.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics("item-queries").getHitCount());
+
+        saveItem("Пила");
+
+        assertEquals(2, itemRepository.findAllByOwnerId(owner.getId()).size());
+    }
+
+    private void saveItem(String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Описание");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+    }
+}
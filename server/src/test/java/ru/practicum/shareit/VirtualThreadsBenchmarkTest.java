@@ -0,0 +1,109 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.ServerApp;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Пропускная способность и задержки сервера на потоках Tomcat и на виртуальных потоках.
+ * Запуск: {@code mvn test -Dbenchmark=true -Dtest=VirtualThreadsBenchmarkTest}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadsBenchmarkTest {
+    private static final int CONCURRENCY = 400;
+    private static final int REQUESTS = 20_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void measureRequestHandling(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ServerApp.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--logging.level.root=WARN")) {
+            UserDto owner = context.getBean(UserService.class)
+                    .createUser(UserDto.builder().name("owner").email("owner@mail.ru").build());
+            ItemDto item = context.getBean(ItemService.class)
+                    .createItem(owner.getId(), new ItemDto(null, "Дрель", "Простая", true, null));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<HttpRequest> requests = List.of(
+                    get(port, "/users/" + owner.getId(), owner.getId()),
+                    get(port, "/items/" + item.getId(), owner.getId()),
+                    get(port, "/items", owner.getId()));
+
+            try (HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build()) {
+                run(client, requests, WARMUP_REQUESTS);
+
+                long start = System.nanoTime();
+                long[] nanos = run(client, requests, REQUESTS);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                Arrays.sort(nanos);
+                System.out.printf("%s threads: %d requests, %d concurrent, %.0f req/s, p50 %.3f ms, p99 %.3f ms%n",
+                        virtualThreads ? "virtual" : "platform", REQUESTS, CONCURRENCY, REQUESTS / seconds,
+                        nanos[REQUESTS / 2] / 1e6, nanos[REQUESTS * 99 / 100] / 1e6);
+            }
+        }
+    }
+
+    /**
+     * CONCURRENCY клиентов по очереди разбирают запросы, пока не будет отправлено total штук.
+     */
+    private static long[] run(HttpClient client, List<HttpRequest> requests, int total) throws Exception {
+        long[] nanos = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(CONCURRENCY);
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(callers.submit(() -> {
+                    for (int n = next.getAndIncrement(); n < total; n = next.getAndIncrement()) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(requests.get(n % requests.size()),
+                                HttpResponse.BodyHandlers.discarding());
+                        nanos[n] = System.nanoTime() - start;
+                        assertEquals(200, response.statusCode());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        }
+        return nanos;
+    }
+
+    private static HttpRequest get(int port, String path, Long userId) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> bookers = new ArrayList<>();
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "owner", "concurrency-owner@mail.ru"));
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(new User(null, "booker" + i, "concurrency-booker" + i + "@mail.ru")));
+        }
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Популярная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookingRepository.findByItemId(item.getId()));
+        itemRepository.delete(item);
+        userRepository.deleteAll(bookers);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    @DisplayName("Параллельные брони одной вещи на пересекающиеся периоды не создают двойного бронирования")
+    void createBooking_manyThreadsOnOneItem_shouldNeverDoubleBook() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (User booker : bookers) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    // каждая попытка пересекается с соседними: слоты по 3 часа со сдвигом в 1 час
+                    int offset = ThreadLocalRandom.current().nextInt(ATTEMPTS_PER_THREAD * 3);
+                    BookingDto dto = BookingDto.builder()
+                            .itemId(item.getId())
+                            .start(base.plusHours(offset))
+                            .end(base.plusHours(offset + 3))
+                            .build();
+                    try {
+                        bookingService.createBooking(booker.getId(), dto);
+                        accepted.incrementAndGet();
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) future.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        List<BookingDto> saved = bookingRepository.findByItemId(item.getId()).stream()
+                .map(booking -> BookingDto.builder()
+                        .start(booking.getStartDate())
+                        .end(booking.getEndDate())
+                        .build())
+                .sorted((a, b) -> a.getStart().compareTo(b.getStart()))
+                .toList();
+
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, accepted.get() + rejected.get());
+        assertEquals(accepted.get(), saved.size());
+        for (int i = 1; i < saved.size(); i++) {
+            assertEquals(false, saved.get(i).getStart().isBefore(saved.get(i - 1).getEnd()),
+                    "Брони пересекаются: " + saved.get(i - 1) + " и " + saved.get(i));
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingFilter;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.time.LocalDateTime;
@@ -63,7 +64,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований пользователя - успешный сценарий")
     void getUserBookings_shouldReturnBookingsList() throws Exception {
-        when(bookingService.getUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getUserBookings(anyLong(), any(BookingFilter.class), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList(bookingResponse));
 
         mockMvc.perform(get("/bookings?state=ALL&from=0&size=10")
@@ -76,7 +77,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований пользователя с невалидным статусом - ошибка")
     void getUserBookings_withInvalidState_shouldReturnBadRequest() throws Exception {
-        when(bookingService.getUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getUserBookings(anyLong(), any(BookingFilter.class), anyInt(), anyInt()))
                 .thenThrow(new IllegalArgumentException("Unknown state: INVALID"));
 
         mockMvc.perform(get("/bookings?state=INVALID&from=0&size=10")
@@ -95,7 +96,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований владельца - успешный сценарий")
     void getOwnerBookings_shouldReturnBookingsList() throws Exception {
-        when(bookingService.getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getOwnerBookings(anyLong(), any(BookingFilter.class), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList(bookingResponse));
 
         mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10")
@@ -108,7 +109,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований владельца с пустым результатом")
     void getOwnerBookings_emptyResult_shouldReturnEmptyList() throws Exception {
-        when(bookingService.getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getOwnerBookings(anyLong(), any(BookingFilter.class), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10")
@@ -132,8 +133,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingFilter;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -146,9 +149,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ru.practicum.shareit.constant.Constants.BOOKING_CURSOR_INCOMPLETE;
 import static ru.practicum.shareit.constant.Constants.X_SHARER_USER_ID;
 
 @WebMvcTest(BookingController.class)
@@ -264,7 +269,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований пользователя - успешный сценарий")
     void getUserBookings_shouldReturnBookingsList() throws Exception {
-        when(bookingService.getUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getUserBookings(anyLong(), any(BookingFilter.class), anyInt(), anyInt()))
                 .thenReturn(Collections.singletonList(bookingResponse));
 
         mockMvc.perform(get("/bookings?state=ALL&from=0&size=10")
@@ -277,7 +282,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований пользователя с невалидным статусом - ошибка")
     void getUserBookings_withInvalidState_shouldReturnBadRequest() throws Exception {
-        when(bookingService.getUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getUserBookings(anyLong(), any(BookingFilter.class), anyInt(), anyInt()))
                 .thenThrow(new IllegalArgumentException("Unknown state: INVALID"));
 
         mockMvc.perform(get("/bookings?state=INVALID&from=0&size=10")
@@ -288,7 +293,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований владельца - успешный сценарий")
     void getOwnerBookings_shouldReturnBookingsList() throws Exception {
-        when(bookingService.getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getOwnerBookings(anyLong(), any(BookingFilter.class), anyInt(), anyInt()))
                 .thenReturn(List.of(bookingResponse));
 
         mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10")
@@ -301,7 +306,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований владельца с пустым результатом")
     void getOwnerBookings_emptyResult_shouldReturnEmptyList() throws Exception {
-        when(bookingService.getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.getOwnerBookings(anyLong(), any(BookingFilter.class), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10")
@@ -313,8 +318,69 @@ class BookingControllerTest {
     @Test
     @DisplayName("Получение бронирований с отрицательной пагинацией - валидация")
     void getBookings_withNegativePagination_shouldReturnBadRequest() throws Exception {
-        mockMvc.perform(get("/bookings?state=ALL&from=-1&size=0")
+        mockMvc.perform(get("/bookings?state=ALL&from=-1&size=10")
                         .header(X_SHARER_USER_ID, 1L))
-                .andExpect(status().isOk());
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=0")
+                        .header(X_SHARER_USER_ID, 1L))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings?state=ALL&afterStart=2030-01-01T00:00:00&afterId=-1")
+                        .header(X_SHARER_USER_ID, 1L))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @DisplayName("Курсор страницы без одного из параметров отклоняется")
+    void getBookings_withIncompleteCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings?state=ALL&afterId=5")
+                        .header(X_SHARER_USER_ID, 1L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(BOOKING_CURSOR_INCOMPLETE));
+        mockMvc.perform(get("/bookings/owner?state=ALL&afterStart=2030-01-01T00:00:00")
+                        .header(X_SHARER_USER_ID, 1L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(BOOKING_CURSOR_INCOMPLETE));
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @DisplayName("Общее число бронирований возвращается в заголовке только по запросу")
+    void getOwnerBookings_withTotal_shouldReturnTotalCountHeader() throws Exception {
+        when(bookingService.getOwnerBookings(anyLong(), any(BookingFilter.class), anyInt(), anyInt()))
+                .thenReturn(List.of(bookingResponse));
+        when(bookingService.countOwnerBookings(1L, BookingFilter.of("ALL"))).thenReturn(42L);
+
+        mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10&withTotal=true")
+                        .header(X_SHARER_USER_ID, 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "42"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10")
+                        .header(X_SHARER_USER_ID, 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"));
+    }
+
+    @Test
+    @DisplayName("Пакетное создание бронирований возвращает итог по каждой записи")
+    void createBookings_shouldReturnResultPerEntry() throws Exception {
+        when(bookingService.createBookings(anyLong(), anyList()))
+                .thenReturn(List.of(
+                        BookingBatchResult.builder().index(0).booking(bookingResponse).build(),
+                        BookingBatchResult.builder().index(1).error("Вещь с id 2 не найдена").build()));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(bookingDto, bookingDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].booking.id").value(1L))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].error").value("Вещь с id 2 не найдена"));
     }
-}
\ No newline at end of file
+}
@@ -3,21 +3,29 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.domain.*;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.lock.ItemLock;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.cache.KnownUserIds;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -26,13 +34,20 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.model.BookingStatus.*;
+import static ru.practicum.shareit.constant.Constants.*;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
 @ExtendWith(MockitoExtension.class)
@@ -43,7 +58,15 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private KnownUserIds knownUserIds;
+    @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+    @Mock
+    private ItemLock itemLock;
+    @Mock
+    private ItemCardCache itemCardCache;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -55,7 +78,7 @@ class BookingServiceImplTest {
     private final LocalDateTime now = LocalDateTime.now();
     private final LocalDateTime start = now.plusDays(1);
     private final LocalDateTime end = now.plusDays(2);
-    private final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate"));
+    private final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate", "id"));
 
     private Booking createTestBooking(Long id, User booker, Item item,
                                       LocalDateTime start, LocalDateTime end,
@@ -125,6 +148,31 @@ class BookingServiceImplTest {
         verify(bookingRepository).save(any(Booking.class));
     }
 
+    @Test
+    @DisplayName("Под общей для экземпляров блокировкой расписание вещи перечитывается из БД")
+    void createBooking_withSharedLock_shouldReloadScheduleAfterLocking() {
+        User booker = new User();
+        booker.setId(userId);
+
+        Item item = new Item();
+        item.setId(itemId);
+        item.setAvailable(true);
+
+        BookingDto bookingDto = new BookingDto(1L, itemId, start, end);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(itemLock.isShared()).thenReturn(true);
+
+        bookingService.createBooking(userId, bookingDto);
+
+        InOrder inOrder = inOrder(itemLock, availabilityIndex);
+        inOrder.verify(itemLock).acquire(itemId);
+        inOrder.verify(availabilityIndex).reload(itemId);
+        inOrder.verify(availabilityIndex).register(any(Booking.class));
+    }
+
     @Test
     void createBooking_WhenItemNotAvailable_ShouldThrowException() {
         User booker = new User();
@@ -184,15 +232,27 @@ class BookingServiceImplTest {
         User booker = new User();
         booker.setId(userId);
 
-        Page<Booking> page = new PageImpl<>(Collections.emptyList());
+        List<Booking> page = Collections.emptyList();
 
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findByBookerId(eq(userId), any(Pageable.class))).thenReturn(page);
+        when(bookingRepository.findPage(any(), eq(0), eq(10))).thenReturn(page);
 
-        Collection<BookingDtoResponse> result = bookingService.getUserBookings(userId, "ALL", 0, 10);
+        Collection<BookingDtoResponse> result = bookingService.getUserBookings(userId, BookingFilter.of("ALL"), 0, 10);
         assertNotNull(result);
     }
 
+    @Test
+    @DisplayName("Заведомо несуществующий пользователь отсекается без запроса к БД")
+    void getUserBookings_definitelyAbsentUser_shouldSkipDatabase() {
+        when(knownUserIds.isDefinitelyAbsent(userId)).thenReturn(true);
+
+        assertThrows(NotFoundException.class,
+                () -> bookingService.getUserBookings(userId, BookingFilter.of("ALL"), 0, 10));
+
+        verify(userRepository, never()).existsById(any());
+        verify(bookingRepository, never()).findPage(any(), anyInt(), anyInt());
+    }
+
     @Test
     @DisplayName("Получение WAITING бронирований для арендатора")
     void getUserBookings_WaitingState_ShouldReturnWaitingBookings() {
@@ -206,23 +266,21 @@ class BookingServiceImplTest {
         Booking waitingBooking = createTestBooking(bookingId, booker, item,
                 now.plusDays(1), now.plusDays(2), WAITING);
 
-        Page<Booking> page = new PageImpl<>(List.of(waitingBooking));
+        List<Booking> page = List.of(waitingBooking);
 
         // Настройка моков
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStatus(
-                eq(userId), eq(WAITING), any(Pageable.class)))
+        when(bookingRepository.findPage(any(), eq(0), eq(10)))
                 .thenReturn(page);
 
         // Выполнение
         Collection<BookingDtoResponse> result = bookingService.getUserBookings(
-                userId, "WAITING", 0, 10);
+                userId, BookingFilter.of("WAITING"), 0, 10);
 
         // Проверки
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findByBookerIdAndStatus(
-                eq(userId), eq(WAITING), any(Pageable.class));
+        verify(bookingRepository).findPage(any(), eq(0), eq(10));
     }
 
     @Test
@@ -239,23 +297,21 @@ class BookingServiceImplTest {
         Booking rejectedBooking = createTestBooking(bookingId, owner, item,
                 now.plusDays(1), now.plusDays(2), REJECTED);
 
-        Page<Booking> page = new PageImpl<>(List.of(rejectedBooking));
+        List<Booking> page = List.of(rejectedBooking);
 
         // Настройка моков
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findByItemOwnerIdAndStatus(
-                eq(userId), eq(REJECTED), any(Pageable.class)))
+        when(bookingRepository.findPage(any(), eq(0), eq(10)))
                 .thenReturn(page);
 
         // Выполнение
         Collection<BookingDtoResponse> result = bookingService.getOwnerBookings(
-                userId, "REJECTED", 0, 10);
+                userId, BookingFilter.of("REJECTED"), 0, 10);
 
         // Проверки
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findByItemOwnerIdAndStatus(
-                eq(userId), eq(REJECTED), any(Pageable.class));
+        verify(bookingRepository).findPage(any(), eq(0), eq(10));
     }
 
     @Test
@@ -273,29 +329,27 @@ class BookingServiceImplTest {
         Booking booking2 = createTestBooking(bookingId + 1, booker, item,
                 now.plusDays(1), now.plusDays(2), WAITING);
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1, booking2));
+        List<Booking> page = List.of(booking1, booking2);
 
         // Настройка моков
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findByBookerId(eq(userId), any(Pageable.class)))
+        when(bookingRepository.findPage(any(), eq(0), eq(10)))
                 .thenReturn(page);
 
         // Выполнение
         Collection<BookingDtoResponse> result = bookingService.getUserBookings(
-                userId, "ALL", 0, 10);
+                userId, BookingFilter.of("ALL"), 0, 10);
 
         // Проверки
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(bookingRepository).findByBookerId(eq(userId), any(Pageable.class));
+        verify(bookingRepository).findPage(any(), eq(0), eq(10));
     }
 
     @Test
     @DisplayName("Получение бронирований с дефолтной пагинацией")
     void getOwnerBookings_DefaultPagination() {
         // 1. Подготовка
-        Pageable defaultPageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate"));
-
         User owner = new User();
         owner.setId(userId);
 
@@ -306,16 +360,16 @@ class BookingServiceImplTest {
         Booking booking = createTestBooking(bookingId, owner, item,
                 now.plusDays(1), now.plusDays(2), APPROVED);
 
-        Page<Booking> expectedPage = new PageImpl<>(List.of(booking), defaultPageable, 1);
+        List<Booking> expectedPage = List.of(booking);
 
         // 2. Настройка моков
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findByItemOwnerId(eq(userId), eq(defaultPageable)))
+        when(bookingRepository.findPage(any(), eq(0), eq(10)))
                 .thenReturn(expectedPage);
 
         // 3. Выполнение
         Collection<BookingDtoResponse> result = bookingService.getOwnerBookings(
-                userId, "ALL", 0, 10);
+                userId, BookingFilter.of("ALL"), 0, 10);
 
         // 4. Проверки
         assertNotNull(result);
@@ -327,8 +381,6 @@ class BookingServiceImplTest {
     @DisplayName("Получение ALL бронирований для владельца с дефолтной пагинацией")
     void getOwnerBookings_AllState_DefaultPagination() {
         // Подготовка
-        Pageable defaultPageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate"));
-
         User owner = new User();
         owner.setId(userId);
 
@@ -339,19 +391,106 @@ class BookingServiceImplTest {
         Booking booking = createTestBooking(bookingId, new User(), item,
                 now.plusDays(1), now.plusDays(2), APPROVED);
 
-        Page<Booking> page = new PageImpl<>(List.of(booking), defaultPageable, 1);
+        List<Booking> page = List.of(booking);
 
         // Настройка моков для дефолтной пагинации
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findByItemOwnerId(eq(userId), eq(defaultPageable)))
+        when(bookingRepository.findPage(any(), eq(0), eq(10)))
                 .thenReturn(page);
 
         // Выполнение
         Collection<BookingDtoResponse> result = bookingService.getOwnerBookings(
-                userId, "ALL", 0, 10);
+                userId, BookingFilter.of("ALL"), 0, 10);
 
         // Проверки
         assertNotNull(result);
         assertEquals(1, result.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Получение бронирований учитывает параметры from и size")
+    void getUserBookings_ShouldHonorFromAndSize() {
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(bookingRepository.findPage(any(), eq(10), eq(5)))
+                .thenReturn(Collections.emptyList());
+
+        bookingService.getUserBookings(userId, BookingFilter.of("ALL"), 10, 5);
+
+        verify(bookingRepository).findPage(any(), eq(10), eq(5));
+    }
+
+    @Test
+    @DisplayName("Пакетное создание сохраняет допустимые брони одним вызовом и объясняет отказы")
+    void createBookings_ShouldSaveValidEntriesAndReportRejected() {
+        User booker = new User();
+        booker.setId(userId);
+        User owner = new User();
+        owner.setId(ownerId);
+
+        Item item = new Item();
+        item.setId(itemId);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        Item unavailable = new Item();
+        unavailable.setId(itemId + 1);
+        unavailable.setAvailable(false);
+        unavailable.setOwner(owner);
+
+        List<BookingDto> dtos = List.of(
+                BookingDto.builder().itemId(itemId).start(start).end(end).build(),
+                BookingDto.builder().itemId(itemId).start(start.plusHours(1)).end(end.plusHours(1)).build(),
+                BookingDto.builder().itemId(itemId + 1).start(start).end(end).build(),
+                BookingDto.builder().itemId(99L).start(start).end(end).build(),
+                BookingDto.builder().itemId(itemId).start(end.plusDays(1)).end(end.plusDays(2)).build());
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item, unavailable));
+        when(availabilityIndex.isAvailable(eq(itemId), any(), any())).thenReturn(true);
+        when(bookingRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            long id = 100;
+            for (Booking booking : bookings) booking.setId(id++);
+            return bookings;
+        });
+
+        List<BookingBatchResult> results = bookingService.createBookings(userId, dtos);
+
+        assertEquals(5, results.size());
+        assertEquals(100L, results.get(0).getBooking().getId());
+        assertEquals(BOOKING_PERIOD_OVERLAPS, results.get(1).getError());
+        assertEquals(ITEM_NOT_AVAILABLE, results.get(2).getError());
+        assertEquals(String.format(ITEM_NOT_FOUND_ERR, 99L), results.get(3).getError());
+        assertEquals(101L, results.get(4).getBooking().getId());
+        verify(itemLock).acquireAll(Set.of(itemId, itemId + 1));
+        verify(bookingRepository).saveAll(argThat(bookings -> ((List<?>) bookings).size() == 2));
+        verify(availabilityIndex, times(2)).register(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Запись пакета без даты начала или окончания отклоняется, остальные сохраняются")
+    void createBookings_withMissingDates_ShouldReportInvalidPeriod() {
+        User booker = new User();
+        booker.setId(userId);
+
+        Item item = new Item();
+        item.setId(itemId);
+        item.setAvailable(true);
+
+        List<BookingDto> dtos = List.of(
+                BookingDto.builder().itemId(itemId).end(end).build(),
+                BookingDto.builder().itemId(itemId).start(start).build(),
+                BookingDto.builder().itemId(itemId).start(start).end(end).build());
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+        when(availabilityIndex.isAvailable(eq(itemId), any(), any())).thenReturn(true);
+        when(bookingRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBatchResult> results = bookingService.createBookings(userId, dtos);
+
+        assertEquals(BOOKING_PERIOD_INVALID, results.get(0).getError());
+        assertEquals(BOOKING_PERIOD_INVALID, results.get(1).getError());
+        assertNull(results.get(2).getError());
+        verify(bookingRepository).saveAll(argThat(bookings -> ((List<?>) bookings).size() == 1));
+    }
+}
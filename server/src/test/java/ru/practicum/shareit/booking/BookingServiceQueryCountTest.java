@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.lock.StripedItemLock;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.cache.ItemCardCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.cache.KnownUserIds;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest
+@Import({BookingServiceImpl.class, BookingAvailabilityIndex.class, StripedItemLock.class, KnownUserIds.class,
+        ItemCardCache.class, NoOpCacheManager.class})
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"
+})
+class BookingServiceQueryCountTest {
+    private static final int ITEM_COUNT = 6;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private final List<User> bookers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = persistUser("owner", "owner@mail.ru");
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            bookers.add(persistUser("booker" + i, "booker" + i + "@mail.ru"));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Item item = new Item();
+            item.setName("Вещь " + i);
+            item.setDescription("Описание " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            em.persist(item);
+
+            persistBooking(item, bookers.get(i), now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+            persistBooking(item, bookers.get(i), now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED);
+            persistBooking(item, bookers.get(i), now.plusDays(2), now.plusDays(3), BookingStatus.WAITING);
+            persistBooking(item, bookers.get(i), now.plusDays(4), now.plusDays(5), BookingStatus.REJECTED);
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    @DisplayName("Бронирования владельца загружаются одним запросом вместе с вещами и арендаторами")
+    void getOwnerBookings_shouldNotLoadAssociationsLazily(BookingState state) {
+        Collection<BookingDtoResponse> result = bookingService.getOwnerBookings(owner.getId(), BookingFilter.of(state.name()), 0, 10);
+
+        assertFalse(result.isEmpty());
+        result.forEach(booking -> {
+            assertFalse(booking.getItem().getName().isEmpty());
+            assertFalse(booking.getBooker().getName().isEmpty());
+        });
+        // проверка пользователя + бронирования с вещами и арендаторами
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    @DisplayName("Бронирования арендатора по курсору загружаются одним запросом")
+    void getUserBookingsAfterCursor_shouldNotLoadAssociationsLazily(BookingState state) {
+        Collection<BookingDtoResponse> result = bookingService.getUserBookings(bookers.getFirst().getId(),
+                BookingFilter.of(state.name()), LocalDateTime.now().plusYears(1), Long.MAX_VALUE, 10);
+
+        assertFalse(result.isEmpty());
+        result.forEach(booking -> assertEquals("Вещь 0", booking.getItem().getName()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private void persistBooking(Item item, User booker, LocalDateTime start, LocalDateTime end,
+                                BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        em.persist(booking);
+    }
+
+    private User persistUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return em.persist(user);
+    }
+}
@@ -0,0 +1,269 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.lock.ItemLock;
+import ru.practicum.shareit.booking.lock.StripedItemLock;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookingAvailabilityIndexTest {
+    private static final Long ITEM_ID = 1L;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+    private BookingRepository bookingRepository;
+    private BookingAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        index = new BookingAvailabilityIndex(bookingRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Расписание загружается из БД один раз и учитывает существующие брони")
+    void isAvailable_shouldLoadScheduleLazily() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndDateIsAfter(eq(ITEM_ID), anyCollection(), any()))
+                .thenReturn(List.of(booking(1L, 0, 2)));
+
+        assertFalse(index.isAvailable(ITEM_ID, base.plusHours(1), base.plusHours(3)));
+        assertTrue(index.isAvailable(ITEM_ID, base.plusHours(2), base.plusHours(3)));
+        assertTrue(index.isAvailable(ITEM_ID, base.minusHours(1), base));
+
+        verify(bookingRepository, times(1))
+                .findByItemIdAndStatusInAndEndDateIsAfter(eq(ITEM_ID), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Пересечение с любой из старых пересекающихся броней обнаруживается")
+    void isAvailable_withOverlappingLegacyBookings_shouldCheckAllEarlierSlots() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndDateIsAfter(eq(ITEM_ID), anyCollection(), any()))
+                .thenReturn(List.of(booking(1L, 0, 10), booking(2L, 1, 2)));
+
+        assertFalse(index.isAvailable(ITEM_ID, base.plusHours(5), base.plusHours(6)));
+        assertTrue(index.isAvailable(ITEM_ID, base.plusHours(10), base.plusHours(11)));
+    }
+
+    @Test
+    @DisplayName("Перечитанное расписание видит брони, записанные в БД в обход индекса")
+    void reload_shouldPickUpBookingsCommittedElsewhere() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndDateIsAfter(eq(ITEM_ID), anyCollection(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(booking(1L, 0, 2)));
+        assertTrue(index.isAvailable(ITEM_ID, base, base.plusHours(1)));
+
+        index.reload(ITEM_ID);
+
+        assertFalse(index.isAvailable(ITEM_ID, base, base.plusHours(1)));
+        assertThrows(ValidationException.class, () -> index.register(booking(2L, 1, 3)));
+    }
+
+    @Test
+    @DisplayName("Пересекающееся бронирование отклоняется, смежное принимается")
+    void register_shouldRejectOverlaps() {
+        index.register(booking(1L, 0, 2));
+        index.register(booking(2L, 4, 6));
+
+        assertThrows(ValidationException.class, () -> index.register(booking(3L, 1, 3)));
+        assertThrows(ValidationException.class, () -> index.register(booking(4L, 3, 5)));
+        assertThrows(ValidationException.class, () -> index.register(booking(5L, -1, 7)));
+        index.register(booking(6L, 2, 4));
+    }
+
+    @Test
+    @DisplayName("Повторная регистрация того же бронирования не считается пересечением")
+    void register_sameBooking_shouldBeIdempotent() {
+        Booking booking = booking(1L, 0, 2);
+
+        index.register(booking);
+        index.register(booking);
+
+        assertFalse(index.isAvailable(ITEM_ID, base, base.plusHours(1)));
+    }
+
+    @Test
+    @DisplayName("Отклонённое бронирование освобождает период")
+    void release_shouldFreePeriod() {
+        Booking booking = booking(1L, 0, 2);
+        index.register(booking);
+
+        index.release(booking);
+
+        assertTrue(index.isAvailable(ITEM_ID, base, base.plusHours(2)));
+    }
+
+    @Test
+    @DisplayName("Откат отмены возвращает период раньше остальных синхронизаций транзакции")
+    void release_rollback_shouldRestorePeriodBeforeOtherSynchronizations() {
+        Booking booking = booking(1L, 0, 2);
+        index.register(booking);
+        List<Boolean> availableOnCompletion = new ArrayList<>();
+
+        rollback(() -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    availableOnCompletion.add(index.isAvailable(ITEM_ID, base, base.plusHours(2)));
+                }
+            });
+            index.release(booking);
+        });
+
+        assertEquals(List.of(false), availableOnCompletion);
+    }
+
+    @Test
+    @DisplayName("Транзакция, ждущая блокировку вещи, видит период, возвращённый откатом отмены")
+    void release_rollback_shouldRestorePeriodBeforeWaiterGetsLock() throws Exception {
+        Booking booking = booking(1L, 0, 2);
+        index.register(booking);
+
+        assertFalse(availableToWaiterAfterRollback(() -> index.release(booking)));
+    }
+
+    @Test
+    @DisplayName("Транзакция, ждущая блокировку вещи, не видит брони из откатившейся транзакции")
+    void register_rollback_shouldFreePeriodBeforeWaiterGetsLock() throws Exception {
+        assertTrue(availableToWaiterAfterRollback(() -> index.register(booking(1L, 0, 2))));
+    }
+
+    @Test
+    @DisplayName("Из множества конкурирующих пересекающихся броней принимается ровно одна")
+    void register_concurrentOverlaps_shouldAcceptExactlyOne() throws Exception {
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (long id = 1; id <= threads; id++) {
+            Booking booking = booking(id, (int) (id % 3), (int) (id % 3) + 4);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    index.register(booking);
+                    accepted.incrementAndGet();
+                } catch (ValidationException ignored) {
+                    // период уже занят другой бронью
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) future.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(1, accepted.get());
+    }
+
+    /**
+     * Изменяет расписание под блокировкой вещи и откатывает транзакцию, пока вторая транзакция ждёт ту же блокировку.
+     * Синхронизация, зарегистрированная до изменения, держит откатившуюся транзакцию открытой, пока вторая
+     * не проверит период, так что компенсация, выполненная после снятия блокировки, гарантированно опоздает.
+     */
+    private boolean availableToWaiterAfterRollback(Runnable change) throws Exception {
+        ItemLock lock = new StripedItemLock(256);
+        CountDownLatch changed = new CountDownLatch(1);
+        CountDownLatch checked = new CountDownLatch(1);
+        AtomicBoolean available = new AtomicBoolean();
+
+        Thread waiter = new Thread(() -> {
+            await(changed);
+            new TransactionTemplate(new NoOpTransactionManager()).executeWithoutResult(status -> {
+                lock.acquire(ITEM_ID);
+                available.set(index.isAvailable(ITEM_ID, base, base.plusHours(2)));
+                checked.countDown();
+            });
+        });
+        waiter.start();
+
+        rollback(() -> {
+            lock.acquire(ITEM_ID);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    await(checked);
+                }
+            });
+            change.run();
+            changed.countDown();
+            while (waiter.getState() != Thread.State.WAITING) Thread.onSpinWait();
+        });
+
+        waiter.join(5000);
+        assertEquals(0, checked.getCount(), "Ожидающая транзакция не получила блокировку");
+        return available.get();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void rollback(Runnable action) {
+        new TransactionTemplate(new NoOpTransactionManager()).executeWithoutResult(status -> {
+            action.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private Booking booking(Long id, int startHour, int endHour) {
+        Item item = new Item();
+        item.setId(ITEM_ID);
+
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStartDate(base.plusHours(startHour));
+        booking.setEndDate(base.plusHours(endHour));
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    /**
+     * Менеджер без ресурсов: нужен только для того, чтобы синхронизации вызывались так же, как в приложении.
+     */
+    static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
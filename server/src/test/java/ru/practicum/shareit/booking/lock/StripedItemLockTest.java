@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedItemLockTest {
+    private final StripedItemLock lock = new StripedItemLock(256);
+
+    @Test
+    @DisplayName("Блокировка вне транзакции запрещена")
+    void acquire_withoutTransaction_shouldFail() {
+        assertThrows(IllegalStateException.class, () -> lock.acquire(1L));
+    }
+
+    @Test
+    @DisplayName("Блокировка одной вещи не задерживает другую и снимается по завершении транзакции")
+    void acquire_shouldBlockOnlySameItemUntilCompletion() throws Exception {
+        Long busyItem = 1L;
+        Long otherItem = findItemOnOtherStripe(busyItem);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> holder = executor.submit(() -> inTransaction(() -> {
+            lock.acquire(busyItem);
+            locked.countDown();
+            await(release);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        Future<?> other = executor.submit(() -> inTransaction(() -> lock.acquire(otherItem)));
+        other.get(5, TimeUnit.SECONDS);
+
+        Future<?> same = Executors.newSingleThreadExecutor().submit(() -> inTransaction(() -> lock.acquire(busyItem)));
+        assertThrows(TimeoutException.class, () -> same.get(200, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        same.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Групповая блокировка захватывает каждый замок один раз")
+    void acquireAll_shouldLockEachStripeOnce() {
+        inTransaction(() -> {
+            lock.acquireAll(List.of(3L, 1L, 3L, 2L));
+            assertEquals(3, TransactionSynchronizationManager.getSynchronizations().size());
+        });
+    }
+
+    private Long findItemOnOtherStripe(Long itemId) {
+        long candidate = itemId + 1;
+        while (lock.stripeOf(candidate) == lock.stripeOf(itemId)) candidate++;
+        return candidate;
+    }
+
+    private static void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.byUser;
+
+/**
+ * Сравнение списка бронирований владельца со счётчиком (Page) и без него (List).
+ * Запуск: {@code mvn test -Dbenchmark=true -Dtest=BookingListBenchmarkTest}.
+ */
+@DataJpaTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"
+})
+class BookingListBenchmarkTest {
+    private static final int BOOKING_COUNT = 100_000;
+    private static final int ITEM_COUNT = 100;
+    private static final int RUNS = 200;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void measurePageVersusList() {
+        User owner = persistUser("owner", "owner@mail.ru");
+        User booker = persistUser("booker", "booker@mail.ru");
+        Item[] items = new Item[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Item item = new Item();
+            item.setName("Вещь " + i);
+            item.setDescription("Описание " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            items[i] = em.persist(item);
+        }
+
+        LocalDateTime base = LocalDateTime.now().minusYears(10);
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            Booking booking = new Booking();
+            booking.setItem(items[i % ITEM_COUNT]);
+            booking.setBooker(booker);
+            booking.setStartDate(base.plusHours(i));
+            booking.setEndDate(base.plusHours(i + 1));
+            booking.setStatus(BookingStatus.APPROVED);
+            em.persist(booking);
+            if (i % 1_000 == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+
+        Long ownerId = owner.getId();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate", "id"));
+        measure("Page (fetch + count)", () -> bookingRepository.findAll(byUser(ownerId, true), pageable).getContent());
+        measure("List (fetch only)", () -> bookingRepository.findPage(byUser(ownerId, true), 0, 10));
+    }
+
+    private void measure(String name, Supplier<?> query) {
+        for (int i = 0; i < RUNS / 10; i++) {
+            query.get();
+            em.clear();
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+            em.clear();
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%s: %d bookings, p50 %.3f ms, p99 %.3f ms%n", name, BOOKING_COUNT,
+                nanos[RUNS / 2] / 1e6, nanos[RUNS * 99 / 100] / 1e6);
+    }
+
+    private User persistUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return em.persist(user);
+    }
+}
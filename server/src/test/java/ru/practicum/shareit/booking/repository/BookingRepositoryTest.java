@@ -0,0 +1,187 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static ru.practicum.shareit.booking.repository.BookingSpecifications.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"
+})
+class BookingRepositoryTest {
+    private static final Sort ORDER = Sort.by(Sort.Direction.DESC, "startDate", "id");
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("owner", "owner@example.com");
+        booker = persistUser("booker", "booker@example.com");
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Аккумуляторная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        em.persist(item);
+    }
+
+    @Test
+    void findBy_afterCursor_shouldWalkSameOrderAsOffsetPaging() {
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 7; i++) {
+            // по две брони на одну дату начала, чтобы порядок решал id
+            persistBooking(base.plusDays(i / 2), BookingStatus.APPROVED);
+        }
+        em.flush();
+
+        List<Booking> expected = bookingRepository.findAll(byUser(booker.getId(), false), ORDER);
+        List<Booking> walked = new ArrayList<>();
+        List<Booking> page = findPage(byUser(booker.getId(), false), 3);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            Booking last = page.getLast();
+            page = findPage(byUser(booker.getId(), false)
+                    .and(afterCursor(last.getStartDate(), last.getId())), 3);
+        }
+
+        assertEquals(7, expected.size());
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void findBy_ownerInState_shouldFilterByOwnerAndStatus() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        Booking waiting = persistBooking(base, BookingStatus.WAITING);
+        persistBooking(base.plusDays(1), BookingStatus.REJECTED);
+        em.flush();
+
+        List<Booking> found = findPage(byUser(owner.getId(), true)
+                .and(inState(BookingState.WAITING, LocalDateTime.now())), 10);
+
+        assertEquals(List.of(waiting), found);
+    }
+
+    @Test
+    void findPage_withOffset_shouldSkipExactlyOffsetRows() {
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 5; i++) {
+            persistBooking(base.plusDays(i), BookingStatus.APPROVED);
+        }
+        em.flush();
+
+        List<Booking> all = bookingRepository.findAll(byUser(booker.getId(), false), ORDER);
+
+        assertEquals(all.subList(0, 2), bookingRepository.findPage(byUser(booker.getId(), false), 0, 2));
+        assertEquals(all.subList(1, 3), bookingRepository.findPage(byUser(booker.getId(), false), 1, 2));
+        assertEquals(all.subList(4, 5), bookingRepository.findPage(byUser(booker.getId(), false), 4, 2));
+    }
+
+    @Test
+    void findPage_withItemAndRange_shouldReturnOverlappingBookingsOfItem() {
+        Item otherItem = new Item();
+        otherItem.setName("Пила");
+        otherItem.setDescription("Ручная пила");
+        otherItem.setAvailable(true);
+        otherItem.setOwner(owner);
+        em.persist(otherItem);
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        persistBooking(base, BookingStatus.APPROVED);
+        Booking overlapping = persistBooking(base.plusHours(5), BookingStatus.APPROVED);
+        persistBooking(base.plusHours(10), BookingStatus.APPROVED);
+        Booking onOtherItem = persistBooking(base.plusHours(5), BookingStatus.APPROVED);
+        onOtherItem.setItem(otherItem);
+        em.flush();
+
+        Specification<Booking> spec = byUser(owner.getId(), true)
+                .and(forItem(item.getId()))
+                .and(overlapping(base.plusHours(4), base.plusHours(6)));
+
+        assertEquals(List.of(overlapping), findPage(spec, 10));
+        assertEquals(2, bookingRepository.count(byUser(owner.getId(), true)
+                .and(overlapping(base.plusHours(4), base.plusHours(6)))));
+    }
+
+    @Test
+    void findBookingDates_shouldUseOnlyApprovedBookingsAroundNow() {
+        Item unbooked = new Item();
+        unbooked.setName("Пила");
+        unbooked.setDescription("Ручная пила");
+        unbooked.setAvailable(true);
+        unbooked.setOwner(owner);
+        em.persist(unbooked);
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        persistBooking(now.minusDays(3), BookingStatus.APPROVED);
+        Booking last = persistBooking(now.minusDays(1), BookingStatus.APPROVED);
+        persistBooking(now.minusHours(2), BookingStatus.REJECTED);
+        Booking current = persistBooking(now.minusMinutes(30), BookingStatus.APPROVED);
+        persistBooking(now.plusHours(1), BookingStatus.WAITING);
+        Booking next = persistBooking(now.plusDays(2), BookingStatus.APPROVED);
+        persistBooking(now.plusDays(3), BookingStatus.APPROVED);
+        em.flush();
+
+        List<ItemBookingDates> found = bookingRepository.findBookingDates(List.of(item.getId(), unbooked.getId()), now)
+                .stream()
+                .sorted(Comparator.comparing(ItemBookingDates::itemId))
+                .toList();
+
+        ItemBookingDates booked = found.getFirst();
+        assertEquals(new ItemBookingDates(item.getId(), last.getEndDate(), next.getStartDate(), current.getEndDate()),
+                booked);
+        assertEquals(current.getEndDate(), booked.validUntil());
+        assertEquals(new ItemBookingDates(unbooked.getId(), null, null, null), found.getLast());
+        assertNull(found.getLast().validUntil());
+    }
+
+    private List<Booking> findPage(Specification<Booking> spec, int size) {
+        return bookingRepository.findPage(spec, 0, size);
+    }
+
+    private Booking persistBooking(LocalDateTime start, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStartDate(start);
+        booking.setEndDate(start.plusHours(1));
+        booking.setStatus(status);
+        return em.persist(booking);
+    }
+
+    private User persistUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return em.persist(user);
+    }
+}
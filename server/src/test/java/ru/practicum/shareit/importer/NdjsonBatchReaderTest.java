@@ -0,0 +1,66 @@
+package ru.practicum.shareit.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonBatchReaderTest {
+    private static final String MALFORMED = "Строка не является корректным JSON";
+
+    private final NdjsonBatchReader<UserDto> reader =
+            new NdjsonBatchReader<>(new ObjectMapper().findAndRegisterModules(), UserDto.class, MALFORMED, 2);
+
+    @Test
+    @DisplayName("Строки отдаются пакетами, пустые пропускаются, ошибки учитываются с номером строки")
+    void read_shouldSplitIntoBatchesAndCountRejectedLines() throws IOException {
+        String body = String.join("\n",
+                "{\"name\":\"a\",\"email\":\"a@mail.ru\"}",
+                "",
+                "{\"name\":\"b\",\"email\":\"b@mail.ru\"}",
+                "{oops",
+                "{\"name\":\"\",\"email\":\"c@mail.ru\"}",
+                "{\"name\":\"d\",\"email\":\"d@mail.ru\"}");
+        ImportProgress progress = new ImportProgress(10);
+        List<List<Long>> batches = new ArrayList<>();
+
+        reader.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), progress,
+                row -> {
+                    if (row.value().getName().isBlank()) {
+                        progress.reject(row.line(), row.value().getEmail(), "пустое имя");
+                        return false;
+                    }
+                    return true;
+                },
+                batch -> {
+                    batches.add(batch.stream().map(ImportRow::line).toList());
+                    progress.created(batch.size());
+                });
+
+        assertEquals(List.of(List.of(1L, 3L), List.of(6L)), batches);
+        assertEquals(new ImportResult(5, 3, 2, List.of(
+                new ImportError(4, null, MALFORMED),
+                new ImportError(5, "c@mail.ru", "пустое имя"))), progress.toResult());
+    }
+
+    @Test
+    @DisplayName("В ответ попадает не больше заданного числа ошибок, счётчик учитывает все")
+    void reject_shouldCapReportedErrors() {
+        ImportProgress progress = new ImportProgress(1);
+
+        progress.reject(2, "x", "ошибка");
+        progress.reject(1, "y", "ошибка");
+
+        ImportResult result = progress.toResult();
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(new ImportError(2, "x", "ошибка")), result.getErrors());
+    }
+}
@@ -9,21 +9,29 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.importer.ImportResult;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.importer.ItemImporter;
+import ru.practicum.shareit.item.search.ItemSearchQuery;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
@@ -36,6 +44,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImporter itemImporter;
+
     private final ObjectMapper mapper = new ObjectMapper();
     private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
 
@@ -121,7 +132,7 @@ class ItemControllerTest {
     @Test
     @DisplayName("Поиск вещей по пустому тексту - пустой список")
     void searchItems_withEmptyText_shouldReturnEmptyList() throws Exception {
-        when(itemService.getItemsByPattern("")).thenReturn(Collections.emptyList());
+        when(itemService.getItemsByPattern("", 0L, 10)).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/items/search")
                         .param("text", ""))
@@ -129,6 +140,45 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("Поиск вещей в формате NDJSON - выдача страницами до конца результатов")
+    void searchItems_ndjson_shouldStreamAllPages() throws Exception {
+        List<ItemDtoResponse> firstPage = LongStream.rangeClosed(1, 100)
+                .mapToObj(id -> ItemDtoResponse.builder().id(id).name("Дрель " + id).build())
+                .toList();
+        List<ItemDtoResponse> secondPage = List.of(ItemDtoResponse.builder().id(101L).name("Дрель 101").build());
+
+        ItemSearchQuery query = new ItemSearchQuery("дрель", new long[0]);
+        when(itemService.prepareSearch("дрель")).thenReturn(query);
+        when(itemService.getItemsByPattern(query, 0L, 100)).thenReturn(firstPage);
+        when(itemService.getItemsByPattern(query, 100L, 100)).thenReturn(secondPage);
+
+        MvcResult result = mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(101, lines.length);
+        assertEquals(101L, mapper.readTree(lines[100]).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Поиск вещей с неположительным size - ошибка 400")
+    void searchItems_withNonPositiveSize_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .param("size", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).getItemsByPattern(anyString(), anyLong(), anyInt());
+    }
+
     @Test
     @DisplayName("Обновление вещи - только имя")
     void updateItem_onlyName_shouldReturnUpdatedItem() throws Exception {
@@ -196,7 +246,7 @@ class ItemControllerTest {
                 ItemDtoResponse.builder().id(1L).name("Дрель").build()
         );
 
-        when(itemService.getItemsByPattern(anyString())).thenReturn(expected);
+        when(itemService.getItemsByPattern(anyString(), anyLong(), anyInt())).thenReturn(expected);
 
         mockMvc.perform(get("/items/search")
                         .param("text", "дрель!@#"))
@@ -382,4 +432,20 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Импорт вещей передаёт поток владельца импортёру")
+    void importItems_shouldReturnSummary() throws Exception {
+        when(itemImporter.importItems(eq(1L), any()))
+                .thenReturn(new ImportResult(1, 1, 0, Collections.emptyList()));
+
+        mockMvc.perform(post("/items/import")
+                        .header(X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(mapper.writeValueAsString(itemDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        verify(itemImporter).importItems(eq(1L), any());
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.search.ItemSearchQuery;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        // своя база: пересоздание схемы не должно задевать закэшированные контексты других тестов
+        "spring.datasource.url=jdbc:h2:mem:streamdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+class ItemSearchStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private ItemService itemService;
+
+    @Test
+    @DisplayName("Ошибка посреди потоковой выдачи обрывает соединение, а не завершает ответ")
+    void streamItemsByPattern_failureAfterFirstPage_shouldAbortResponse() {
+        ItemSearchQuery query = new ItemSearchQuery("дрель", null);
+        List<ItemDtoResponse> firstPage = LongStream.rangeClosed(1, 100)
+                .mapToObj(id -> ItemDtoResponse.builder().id(id).name("Дрель " + id).build())
+                .toList();
+        when(itemService.prepareSearch("дрель")).thenReturn(query);
+        when(itemService.getItemsByPattern(eq(query), eq(0L), anyInt())).thenReturn(firstPage);
+        when(itemService.getItemsByPattern(eq(query), eq(100L), anyInt()))
+                .thenThrow(new IllegalStateException("БД недоступна"));
+
+        String text = URLEncoder.encode("дрель", StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/search?text=" + text))
+                .header("Accept", "application/x-ndjson")
+                .build();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            assertThrows(IOException.class, () -> client.send(request, HttpResponse.BodyHandlers.ofString()));
+        }
+    }
+}
@@ -6,13 +6,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
@@ -20,10 +25,13 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchQuery;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
@@ -53,6 +61,11 @@ class ItemServiceImplTest {
     private UserService userService;
     @Mock
     private ItemRequestRepository requestRepository;
+    @Mock
+    private ItemSearchIndex searchIndex;
+
+    @Spy
+    private ItemCardCache itemCardCache = new ItemCardCache(new NoOpCacheManager());
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -230,7 +243,7 @@ class ItemServiceImplTest {
         inputDto.setText(commentText);
 
         // 2. Настройка моков
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userService.getUser(userId)).thenReturn(UserMapper.toUserDto(user));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(bookingRepository.findByItemIdAndBookerIdAndEndDateIsBefore(
                 eq(itemId), eq(userId), any(LocalDateTime.class))
@@ -255,7 +268,7 @@ class ItemServiceImplTest {
         assertEquals(user.getName(), result.getAuthorName(), "Имя автора должно совпадать");
         assertNotNull(result.getCreated(), "Дата создания должна быть установлена");
 
-        verify(userRepository).findById(userId);
+        verify(userService).getUser(userId);
         verify(itemRepository).findById(itemId);
         verify(bookingRepository).findByItemIdAndBookerIdAndEndDateIsBefore(
                 eq(itemId), eq(userId), any(LocalDateTime.class));
@@ -268,7 +281,7 @@ class ItemServiceImplTest {
         CommentDto commentDto = new CommentDto();
         commentDto.setText("Отлично!");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(testUser));
+        when(userService.getUser(anyLong())).thenReturn(UserMapper.toUserDto(testUser));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(testItem));
         when(bookingRepository.findByItemIdAndBookerIdAndEndDateIsBefore(
                 anyLong(), anyLong(), any(LocalDateTime.class))
@@ -284,12 +297,15 @@ class ItemServiceImplTest {
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(testItem));
         when(bookingRepository.findByItemId(anyLong())).thenReturn(List.of(testBooking));
         when(commentRepository.findByItemId(anyLong())).thenReturn(List.of(testComment));
+        LocalDateTime lastEnd = LocalDateTime.now().minusDays(1);
+        when(bookingRepository.findBookingDates(eq(List.of(1L)), any(LocalDateTime.class))).thenReturn(List.of(
+                new ItemBookingDates(1L, lastEnd, testBooking.getStartDate(), testBooking.getEndDate())));
 
         ItemDtoResponse result = itemService.getItem(1L, 1L);
 
         assertNotNull(result);
-        assertNotNull(result.getLastBooking());
-        assertNotNull(result.getNextBooking());
+        assertEquals(lastEnd, result.getLastBooking());
+        assertEquals(testBooking.getStartDate(), result.getNextBooking());
         assertFalse(result.getComments().isEmpty());
     }
 
@@ -311,8 +327,8 @@ class ItemServiceImplTest {
     @DisplayName("Получение списка вещей пользователя")
     void getUserItems_shouldReturnUserItems() {
         when(itemRepository.findAllByOwnerId(anyLong())).thenReturn(List.of(testItem));
-        when(bookingRepository.findByItemId(anyLong())).thenReturn(List.of(testBooking));
-        when(commentRepository.findByItemId(anyLong())).thenReturn(List.of(testComment));
+        when(bookingRepository.findByItemIdIn(anyCollection())).thenReturn(List.of(testBooking));
+        when(commentRepository.findByItemIdIn(anyCollection())).thenReturn(List.of(testComment));
 
         Collection<ItemDtoResponse> result = itemService.getUserItems(1L);
 
@@ -323,20 +339,65 @@ class ItemServiceImplTest {
     @Test
     @DisplayName("Поиск вещей по тексту - успешный сценарий")
     void getItemsByPattern_shouldReturnFilteredItems() {
-        when(itemRepository.search(anyString())).thenReturn(List.of(testItem));
-        when(bookingRepository.findByItemId(anyLong())).thenReturn(List.of(testBooking));
-        when(commentRepository.findByItemId(anyLong())).thenReturn(List.of(testComment));
+        when(itemRepository.search(anyString(), anyLong(), any(Limit.class))).thenReturn(List.of(testItem));
+        when(bookingRepository.findByItemIdIn(anyCollection())).thenReturn(List.of(testBooking));
+        when(commentRepository.findByItemIdIn(anyCollection())).thenReturn(List.of(testComment));
 
-        Collection<ItemDtoResponse> result = itemService.getItemsByPattern("дрель");
+        Collection<ItemDtoResponse> result = itemService.getItemsByPattern("дрель", 0, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
     }
 
+    @Test
+    @DisplayName("Поиск по индексу - страница после курсора")
+    void getItemsByPattern_withIndex_shouldReturnPageAfterCursor() {
+        Item second = new Item();
+        second.setId(2L);
+        second.setName("Дрель ударная");
+        second.setDescription("Мощная");
+        second.setAvailable(true);
+        second.setOwner(testUser);
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("дрель")).thenReturn(new long[]{1L, 2L, 3L});
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(second));
+
+        Collection<ItemDtoResponse> result = itemService.getItemsByPattern("дрель", 1, 1);
+
+        assertEquals(1, result.size());
+        assertEquals(2L, result.iterator().next().getId());
+        verify(itemRepository, never()).search(anyString(), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Постраничный поиск по индексу - кандидаты ищутся один раз на весь обход")
+    void getItemsByPattern_withPreparedQuery_shouldSearchIndexOnce() {
+        Item second = new Item();
+        second.setId(2L);
+        second.setName("Дрель ударная");
+        second.setDescription("Мощная");
+        second.setAvailable(true);
+        second.setOwner(testUser);
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("дрель")).thenReturn(new long[]{1L, 2L});
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(testItem));
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(second));
+
+        ItemSearchQuery query = itemService.prepareSearch("дрель");
+        Collection<ItemDtoResponse> firstPage = itemService.getItemsByPattern(query, 0, 1);
+        Collection<ItemDtoResponse> secondPage = itemService.getItemsByPattern(query, 1, 1);
+
+        assertEquals(1L, firstPage.iterator().next().getId());
+        assertEquals(2L, secondPage.iterator().next().getId());
+        verify(searchIndex, times(1)).search("дрель");
+    }
+
     @Test
     @DisplayName("Поиск с пустым текстом - должен вернуть пустой список")
     void getItemsByPattern_emptyText_shouldReturnEmptyList() {
-        Collection<ItemDtoResponse> result = itemService.getItemsByPattern("");
+        Collection<ItemDtoResponse> result = itemService.getItemsByPattern("", 0, 10);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -367,7 +428,7 @@ class ItemServiceImplTest {
         updateDto.setName("Дрель+");
 
         // 2. Настройка моков
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(ownerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(existingItem));
 
         // 3. Выполнение
@@ -388,7 +449,7 @@ class ItemServiceImplTest {
         ItemDto updateDto = new ItemDto();
         updateDto.setName("Дрель+");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(testUser));
+        when(userRepository.existsById(anyLong())).thenReturn(true);
         when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () ->
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.cache.ItemCardCache;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.cache.KnownUserIds;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import({ItemServiceImpl.class, UserServiceImpl.class, KnownUserIds.class, ItemSearchIndex.class,
+        ItemCardCache.class, NoOpCacheManager.class})
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"
+})
+class ItemServiceQueryCountTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ItemServiceImpl itemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 25})
+    @DisplayName("Список вещей владельца загружается фиксированным числом запросов")
+    void getUserItems_shouldIssueConstantNumberOfQueries(int itemCount) {
+        User owner = persistUser("owner", "owner@mail.ru");
+        User booker = persistUser("booker", "booker@mail.ru");
+
+        for (int i = 0; i < itemCount; i++) {
+            Item item = new Item();
+            item.setName("Вещь " + i);
+            item.setDescription("Описание " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            em.persist(item);
+
+            Booking booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStartDate(LocalDateTime.now().minusDays(2));
+            booking.setEndDate(LocalDateTime.now().minusDays(1));
+            booking.setStatus(BookingStatus.APPROVED);
+            em.persist(booking);
+
+            Comment comment = new Comment();
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            comment.setText("Отзыв " + i);
+            comment.setCreated(LocalDateTime.now());
+            em.persist(comment);
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        Collection<ItemDtoResponse> result = itemService.getUserItems(owner.getId());
+
+        assertEquals(itemCount, result.size());
+        result.forEach(item -> {
+            assertEquals(1, item.getBookings().size());
+            assertEquals(1, item.getComments().size());
+            assertEquals("booker", item.getComments().getFirst().getAuthorName());
+        });
+        // вещи владельца + бронирования + комментарии с авторами + даты последнего и следующего бронирования
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    private User persistUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return em.persist(user);
+    }
+}
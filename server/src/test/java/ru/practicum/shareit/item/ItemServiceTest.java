@@ -5,11 +5,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.data.domain.Limit;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCardCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
@@ -19,6 +23,7 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -34,6 +39,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
@@ -59,6 +65,12 @@ public class ItemServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ItemSearchIndex searchIndex;
+
+    @Spy
+    private ItemCardCache itemCardCache = new ItemCardCache(new NoOpCacheManager());
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -200,7 +212,7 @@ public class ItemServiceTest {
         comment.setAuthor(user);
         comment.setCreated(LocalDateTime.now());
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userService.getUser(userId)).thenReturn(UserMapper.toUserDto(user));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(bookingRepository.findByItemIdAndBookerIdAndEndDateIsBefore(anyLong(), anyLong(), any(LocalDateTime.class)))
                 .thenReturn(Collections.singletonList(booking));
@@ -231,7 +243,7 @@ public class ItemServiceTest {
         item.setAvailable(true);
         item.setOwner(user);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userService.getUser(userId)).thenReturn(UserMapper.toUserDto(user));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(bookingRepository.findByItemIdAndBookerIdAndEndDateIsBefore(anyLong(), anyLong(), any(LocalDateTime.class)))
                 .thenReturn(Collections.emptyList());
@@ -285,8 +297,8 @@ public class ItemServiceTest {
         item.setOwner(user);
 
         when(itemRepository.findAllByOwnerId(userId)).thenReturn(Collections.singletonList(item));
-        when(bookingRepository.findByItemId(anyLong())).thenReturn(Collections.emptyList());
-        when(commentRepository.findByItemId(anyLong())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findByItemIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(commentRepository.findByItemIdIn(anyCollection())).thenReturn(Collections.emptyList());
 
         List<ItemDtoResponse> result = (List<ItemDtoResponse>) itemService.getUserItems(userId);
 
@@ -305,11 +317,11 @@ public class ItemServiceTest {
         item.setDescription("Description");
         item.setAvailable(true);
 
-        when(itemRepository.search(pattern)).thenReturn(Collections.singletonList(item));
-        when(bookingRepository.findByItemId(anyLong())).thenReturn(Collections.emptyList());
-        when(commentRepository.findByItemId(anyLong())).thenReturn(Collections.emptyList());
+        when(itemRepository.search(pattern, 0L, Limit.of(10))).thenReturn(Collections.singletonList(item));
+        when(bookingRepository.findByItemIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(commentRepository.findByItemIdIn(anyCollection())).thenReturn(Collections.emptyList());
 
-        List<ItemDtoResponse> result = (List<ItemDtoResponse>) itemService.getItemsByPattern(pattern);
+        List<ItemDtoResponse> result = (List<ItemDtoResponse>) itemService.getItemsByPattern(pattern, 0, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -337,7 +349,7 @@ public class ItemServiceTest {
         item.setAvailable(true);
         item.setOwner(user);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
 
         ItemDto result = itemService.updateItem(userId, itemId, itemDto);
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ItemCardCacheTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = createUser("owner");
+        booker = createUser("booker");
+        item = itemService.createItem(owner.getId(), new ItemDto(null, "Дрель", "Простая", true, null));
+    }
+
+    @Test
+    @DisplayName("Повторный просмотр карточки не обращается к БД, владелец и гость получают свои представления")
+    void getItem_shouldServeRepeatedViewsFromCache() {
+        itemService.getItem(booker.getId(), item.getId());
+        statistics.clear();
+
+        ItemDtoResponse publicView = itemService.getItem(booker.getId(), item.getId());
+        ItemDtoResponse ownerView = itemService.getItem(owner.getId(), item.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("Дрель", publicView.getName());
+        assertEquals("Дрель", ownerView.getName());
+    }
+
+    @Test
+    @DisplayName("Обновление вещи сбрасывает карточку")
+    void updateItem_shouldEvictCard() {
+        itemService.getItem(owner.getId(), item.getId());
+
+        itemService.updateItem(owner.getId(), item.getId(), ItemDto.builder().name("Перфоратор").build());
+
+        assertEquals("Перфоратор", itemService.getItem(owner.getId(), item.getId()).getName());
+    }
+
+    @Test
+    @DisplayName("Новое бронирование сбрасывает карточку, даты видит только владелец")
+    void createBooking_shouldEvictCard() {
+        itemService.getItem(owner.getId(), item.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        Long bookingId = bookingService.createBooking(booker.getId(),
+                new BookingDto(null, item.getId(), start, start.plusDays(1))).getId();
+
+        ItemDtoResponse waitingView = itemService.getItem(owner.getId(), item.getId());
+        assertEquals(1, waitingView.getBookings().size());
+        assertNull(waitingView.getNextBooking());
+
+        bookingService.updateBookingStatus(owner.getId(), bookingId, true);
+
+        ItemDtoResponse ownerView = itemService.getItem(owner.getId(), item.getId());
+        ItemDtoResponse publicView = itemService.getItem(booker.getId(), item.getId());
+        assertEquals(start, ownerView.getNextBooking());
+        assertEquals(1, publicView.getBookings().size());
+        assertNull(publicView.getNextBooking());
+    }
+
+    @Test
+    @DisplayName("Карточка пересобирается, когда ближайшее бронирование наступило")
+    void getItem_shouldReloadCardWhenNextBookingStarts() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusSeconds(1);
+        Long bookingId = bookingService.createBooking(booker.getId(),
+                new BookingDto(null, item.getId(), start, start.plusDays(1))).getId();
+        bookingService.updateBookingStatus(owner.getId(), bookingId, true);
+        assertNotNull(itemService.getItem(owner.getId(), item.getId()).getNextBooking());
+
+        Thread.sleep(Duration.between(LocalDateTime.now(), start).plusMillis(100));
+
+        assertNull(itemService.getItem(owner.getId(), item.getId()).getNextBooking());
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(UserDto.builder()
+                .name(name)
+                .email(name + "-" + System.nanoTime() + "@mail.ru")
+                .build());
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.item.importer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.importer.ImportError;
+import ru.practicum.shareit.importer.ImportResult;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static ru.practicum.shareit.constant.Constants.*;
+
+@DataJpaTest
+@Import({ItemImporter.class, JacksonAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+        "shareit.item.import.batch-size=2"
+})
+class ItemImporterTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemImporter itemImporter;
+
+    @MockBean
+    private ItemSearchIndex searchIndex;
+
+    private User owner;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@mail.ru");
+        em.persist(owner);
+
+        User requestor = new User();
+        requestor.setName("Requestor");
+        requestor.setEmail("requestor@mail.ru");
+        em.persist(requestor);
+
+        request = new ItemRequest();
+        request.setDescription("Нужна дрель");
+        request.setRequestor(requestor);
+        request.setCreated(LocalDateTime.now());
+        em.persist(request);
+    }
+
+    @Test
+    void importItems_shouldCreateValidRowsAndReportRejectedOnes() throws Exception {
+        String body = String.join("\n",
+                itemJson("Дрель", "Аккумуляторная", "true", request.getId()),
+                itemJson("Пила", "Ручная", "false", null),
+                itemJson("Молоток", "По запросу", "true", 999_999L),
+                "",
+                itemJson("", "Без имени", "true", null),
+                itemJson("Отвёртка", "Без флага", "null", null),
+                "не json",
+                itemJson("Рубанок", "Столярный", "true", null));
+
+        ImportResult result = itemImporter.importItems(owner.getId(),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(7, result.getProcessed());
+        assertEquals(3, result.getCreated());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(
+                new ImportError(3, "Молоток", String.format(REQUEST_NOT_FOUND_ERR, 999_999L)),
+                new ImportError(5, "", ITEM_NAME_BLANK_ERR),
+                new ImportError(6, "Отвёртка", ITEM_AVAILABLE_NULL_ERR),
+                new ImportError(7, null, ITEM_IMPORT_MALFORMED_LINE_ERR)
+        ), result.getErrors());
+
+        List<Item> items = itemRepository.findAllByOwnerId(owner.getId());
+        assertEquals(3, items.size());
+        Item drill = items.stream().filter(item -> item.getName().equals("Дрель")).findFirst().orElseThrow();
+        assertEquals(request.getId(), drill.getRequest().getId());
+        // пачки Дрель+Пила и Молоток+Рубанок: индекс обновляется по разу на пачку
+        verify(searchIndex, times(2)).indexAll(anyCollection());
+    }
+
+    @Test
+    void importItems_withUnknownOwner_shouldThrowNotFound() {
+        assertThrows(NotFoundException.class, () -> itemImporter.importItems(999_999L,
+                new ByteArrayInputStream(new byte[0])));
+    }
+
+    private String itemJson(String name, String description, String available, Long requestId) {
+        return String.format("{\"name\":\"%s\",\"description\":\"%s\",\"available\":%s,\"requestId\":%s}",
+                name, description, available, requestId);
+    }
+}
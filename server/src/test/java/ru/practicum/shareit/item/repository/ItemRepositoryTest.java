@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"
+})
+class ItemRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        em.persist(owner);
+    }
+
+    @Test
+    void search_shouldMatchNameAndDescriptionIgnoringCase() {
+        Item drill = persistItem("Дрель", "Аккумуляторная дрель", true);
+        Item saw = persistItem("Пила", "Пила для ДРЕЛИ не подходит", true);
+        persistItem("Отвёртка", "Крестовая", true);
+
+        List<Item> found = itemRepository.search("дрел", 0L, Limit.of(10));
+
+        assertEquals(2, found.size());
+        assertTrue(found.containsAll(List.of(drill, saw)));
+    }
+
+    @Test
+    void search_shouldSkipUnavailableItems() {
+        Item available = persistItem("Дрель", "Новая", true);
+        persistItem("Дрель", "Сломанная", false);
+
+        List<Item> found = itemRepository.search("дрель", 0L, Limit.of(10));
+
+        assertEquals(List.of(available), found);
+    }
+
+    @Test
+    void search_shouldPageByIdAfterCursor() {
+        Item first = persistItem("Дрель 1", "Простая", true);
+        Item second = persistItem("Дрель 2", "Простая", true);
+        Item third = persistItem("Дрель 3", "Простая", true);
+
+        List<Item> firstPage = itemRepository.search("дрель", 0L, Limit.of(2));
+        List<Item> secondPage = itemRepository.search("дрель", firstPage.getLast().getId(), Limit.of(2));
+
+        assertEquals(List.of(first, second), firstPage);
+        assertEquals(List.of(third), secondPage);
+    }
+
+    private Item persistItem(String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return em.persist(item);
+    }
+}
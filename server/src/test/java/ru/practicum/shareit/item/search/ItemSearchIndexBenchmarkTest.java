@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.Mockito.mock;
+import static ru.practicum.shareit.item.search.ItemSearchIndexTest.item;
+
+/**
+ * Замер памяти на вещь и задержки поиска. Запуск: {@code mvn test -Dbenchmark=true -Dtest=ItemSearchIndexBenchmarkTest}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ItemSearchIndexBenchmarkTest {
+    private static final int ITEM_COUNT = 200_000;
+    private static final int QUERY_RUNS = 200;
+    private static final List<String> WORDS = List.of("дрель", "пила", "молоток", "отвёртка", "лестница",
+            "палатка", "велосипед", "самокат", "утюг", "пылесос", "перфоратор", "шуруповёрт", "рюкзак",
+            "drill", "saw", "ladder", "tent", "bike", "новый", "старый", "аккумуляторный", "ручной", "большой");
+
+    @Test
+    void measureMemoryAndLatency() {
+        ItemSearchIndex index = new ItemSearchIndex(mock(ItemRepository.class), true);
+        Random random = new Random(42);
+
+        long heapBefore = usedHeap();
+        for (long id = 1; id <= ITEM_COUNT; id++) {
+            index.index(item(id, randomText(random, 2), randomText(random, 8), true));
+        }
+        long heapAfter = usedHeap();
+        System.out.printf("Items: %d, heap per item: %.1f bytes%n",
+                ITEM_COUNT, (double) (heapAfter - heapBefore) / ITEM_COUNT);
+
+        for (String query : List.of("дрель", "пыле", "ок", "аккумуляторный ручной", "ladder")) {
+            long[] nanos = new long[QUERY_RUNS];
+            int hits = 0;
+            for (int i = 0; i < QUERY_RUNS; i++) {
+                long start = System.nanoTime();
+                hits = index.search(query).length;
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("Query '%s': %d candidates, p50 %.3f ms, p99 %.3f ms%n", query, hits,
+                    nanos[QUERY_RUNS / 2] / 1e6, nanos[QUERY_RUNS * 99 / 100] / 1e6);
+        }
+    }
+
+    private static String randomText(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS.get(random.nextInt(WORDS.size())));
+        }
+        return text.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
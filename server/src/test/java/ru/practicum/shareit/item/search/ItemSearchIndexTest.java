@@ -0,0 +1,133 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+    private ItemRepository itemRepository;
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        index = new ItemSearchIndex(itemRepository, true);
+    }
+
+    @Test
+    @DisplayName("Индекс строится из репозитория и находит подстроки без учёта регистра")
+    void rebuild_shouldIndexAvailableItems() {
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(item(1L, "Дрель", "Аккумуляторная", true),
+                        item(2L, "Пила", "Для дрели не подходит", true)));
+
+        assertFalse(index.isReady());
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertArrayEquals(new long[]{1L, 2L}, index.search("дрел"));
+        assertArrayEquals(new long[]{1L}, index.search("аккум"));
+        assertArrayEquals(new long[0], index.search("молоток"));
+    }
+
+    @Test
+    @DisplayName("Короткие запросы находят вещи с короткими названиями")
+    void search_shortQuery_shouldMatchShortTexts() {
+        index.index(item(1L, "Ёж", "", true));
+        index.index(item(2L, "Утюг", "Паровой", true));
+
+        assertArrayEquals(new long[]{1L}, index.search("ёж"));
+        assertArrayEquals(new long[]{2L}, index.search("ю"));
+        assertArrayEquals(new long[]{1L}, index.search("ж"));
+        assertArrayEquals(new long[]{2L}, index.search("ой"));
+    }
+
+    @Test
+    @DisplayName("Недоступные вещи не попадают в индекс, изменения применяются инкрементально")
+    void index_shouldTrackUpdatesAndRemovals() {
+        Item item = item(1L, "Дрель", "Простая", false);
+        index.index(item);
+        assertArrayEquals(new long[0], index.search("дрель"));
+
+        item.setAvailable(true);
+        index.index(item);
+        assertArrayEquals(new long[]{1L}, index.search("дрель"));
+
+        item.setName("Перфоратор");
+        index.index(item);
+        assertArrayEquals(new long[0], index.search("дрель"));
+        assertArrayEquals(new long[]{1L}, index.search("перфо"));
+
+        index.remove(1L);
+        assertArrayEquals(new long[0], index.search("перфо"));
+    }
+
+    @Test
+    @DisplayName("Удаление вещи не затрагивает вещи с общими триграммами")
+    void remove_shouldKeepOtherItemsWithSharedGrams() {
+        index.index(item(1L, "Дрель", "", true));
+        index.index(item(2L, "Дрель ударная", "", true));
+
+        index.remove(1L);
+
+        assertArrayEquals(new long[]{2L}, index.search("дрел"));
+        assertArrayEquals(new long[]{2L}, index.search("ль"));
+        assertArrayEquals(new long[]{2L}, index.search("я"));
+    }
+
+    @Test
+    @DisplayName("Пачка вещей индексируется одним вызовом")
+    void indexAll_shouldIndexWholeBatch() {
+        index.indexAll(List.of(item(1L, "Дрель", "Простая", true),
+                item(2L, "Дрель", "Сломанная", false),
+                item(3L, "Пила", "Для дрели", true)));
+
+        assertArrayEquals(new long[]{1L, 3L}, index.search("дрел"));
+        assertArrayEquals(new long[0], index.search("сломан"));
+    }
+
+    @Test
+    @DisplayName("Кандидаты проверяются на точное вхождение подстроки")
+    void matches_shouldCheckSubstring() {
+        Item item = item(1L, "Дрель", "Аккумуляторная", true);
+
+        assertTrue(ItemSearchIndex.matches(item, "ДРЕЛЬ"));
+        assertTrue(ItemSearchIndex.matches(item, "тор"));
+        assertFalse(ItemSearchIndex.matches(item, "ельак"));
+
+        item.setAvailable(false);
+        assertFalse(ItemSearchIndex.matches(item, "дрель"));
+    }
+
+    @Test
+    @DisplayName("Выключенный индекс не принимает изменений")
+    void disabledIndex_shouldIgnoreUpdates() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false);
+
+        disabled.index(item(1L, "Дрель", "Простая", true));
+        disabled.rebuild();
+
+        assertFalse(disabled.isReady());
+        assertArrayEquals(new long[0], disabled.search("дрель"));
+    }
+
+    static Item item(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
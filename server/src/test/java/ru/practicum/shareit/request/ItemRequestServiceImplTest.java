@@ -16,6 +16,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.cache.KnownUserIds;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
@@ -37,6 +38,9 @@ class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private KnownUserIds knownUserIds;
+
     @Mock
     private ItemRepository itemRepository;
 
@@ -7,7 +7,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.importer.ImportError;
+import ru.practicum.shareit.importer.ImportResult;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.importer.UserImporter;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
@@ -31,6 +34,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserImporter userImporter;
+
     // Вспомогательный метод для создания JSON для запросов
     private String createUserJson(String name, String email) {
         return String.format("{\"name\":\"%s\",\"email\":\"%s\"}", name, email);
@@ -147,4 +153,23 @@ class UserControllerTest {
                         .content(invalidJson))
                 .andExpect(status().isCreated());
     }
-}
\ No newline at end of file
+
+    @Test
+    void importUsers_shouldReturnSummary() throws Exception {
+        ImportResult result = ImportResult.builder()
+                .processed(2)
+                .created(1)
+                .failed(1)
+                .errors(List.of(new ImportError(2, "bad", "Email должен иметь формат адреса электронной почты")))
+                .build();
+        when(userImporter.importUsers(any())).thenReturn(result);
+
+        mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(createUserJson("Test", "test@email.com") + "\n" + createUserJson("Bad", "bad")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+}
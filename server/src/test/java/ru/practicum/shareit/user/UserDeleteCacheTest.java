@@ -0,0 +1,97 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.KnownUserIds;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Вещи и запросы удалённого пользователя удаляет каскад из changelog Liquibase, а не Hibernate,
+ * поэтому их копии в кэше второго уровня сервис сбрасывает сам.
+ */
+@DataJpaTest
+@Import({UserServiceImpl.class, KnownUserIds.class, NoOpCacheManager.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+// changeset 005 с последовательностями id выполняется только на PostgreSQL
+@Sql(statements = {
+        "CREATE SEQUENCE IF NOT EXISTS users_id_seq INCREMENT BY 50",
+        "CREATE SEQUENCE IF NOT EXISTS requests_id_seq INCREMENT BY 50",
+        "CREATE SEQUENCE IF NOT EXISTS items_id_seq INCREMENT BY 50"
+})
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.liquibase.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:cascadedb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+})
+class UserDeleteCacheTest {
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    @Test
+    @DisplayName("Удаление пользователя сбрасывает из кэшей его вещи, запросы и ссылки на них")
+    void deleteUser_shouldEvictRowsRemovedByCascade() {
+        User requestor = userRepository.save(new User(null, "requestor", "requestor-" + System.nanoTime() + "@mail.ru"));
+        User owner = userRepository.save(new User(null, "owner", "owner-" + System.nanoTime() + "@mail.ru"));
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Нужна дрель");
+        request.setRequestor(requestor);
+        request.setCreated(LocalDateTime.now());
+        request = requestRepository.save(request);
+        Item own = itemRepository.save(item("Пила", requestor, null));
+        Item answer = itemRepository.save(item("Дрель", owner, request));
+
+        // прогреваем регионы items, requests и item-queries
+        itemRepository.findById(own.getId()).orElseThrow();
+        requestRepository.findById(request.getId()).orElseThrow();
+        assertEquals(1, itemRepository.findAllByOwnerId(requestor.getId()).size());
+        assertEquals(1, itemRepository.findByRequestId(request.getId()).size());
+
+        userService.deleteUser(requestor.getId());
+
+        assertTrue(itemRepository.findById(own.getId()).isEmpty());
+        assertTrue(requestRepository.findById(request.getId()).isEmpty());
+        assertTrue(itemRepository.findAllByOwnerId(requestor.getId()).isEmpty());
+        assertTrue(itemRepository.findByRequestId(request.getId()).isEmpty());
+        assertNull(itemRepository.findById(answer.getId()).orElseThrow().getRequest());
+    }
+
+    private static Item item(String name, User owner, ItemRequest request) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Описание");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item.setRequest(request);
+        return item;
+    }
+}
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,9 +10,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.cache.KnownUserIds;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
@@ -21,6 +28,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class UserServiceImplTest {
@@ -29,6 +38,12 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private KnownUserIds knownUserIds;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -156,8 +171,17 @@ public class UserServiceImplTest {
     @Test
     void deleteUser_ValidUserId_DeletesUser() {
         Long userId = 1L;
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
         doNothing().when(userRepository).deleteById(userId);
+
         assertDoesNotThrow(() -> userService.deleteUser(userId));
+
+        verify(cache).evictEntityData(Item.class);
+        verify(cache).evictEntityData(ItemRequest.class);
+        verify(cache).evictQueryRegion(ItemRepository.QUERY_CACHE_REGION);
     }
 
     @Test
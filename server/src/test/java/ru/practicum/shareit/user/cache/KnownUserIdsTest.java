@@ -0,0 +1,86 @@
+package ru.practicum.shareit.user.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KnownUserIdsTest {
+    private UserRepository userRepository;
+    private KnownUserIds knownUserIds;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        knownUserIds = new KnownUserIds(userRepository, true, "local");
+        when(userRepository.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L, 5L));
+    }
+
+    @Test
+    @DisplayName("До построения карта ничего не отсекает")
+    void isDefinitelyAbsent_beforeRebuild_shouldDeferToDatabase() {
+        assertFalse(knownUserIds.isDefinitelyAbsent(42L));
+    }
+
+    @Test
+    @DisplayName("После построения отсекаются только отсутствующие id")
+    void isDefinitelyAbsent_afterRebuild_shouldRejectUnknownIds() {
+        knownUserIds.rebuild();
+
+        assertFalse(knownUserIds.isDefinitelyAbsent(1L));
+        assertFalse(knownUserIds.isDefinitelyAbsent(5L));
+        assertTrue(knownUserIds.isDefinitelyAbsent(3L));
+    }
+
+    @Test
+    @DisplayName("Id за пределами карты не отсекаются, а проверяются в БД")
+    void isDefinitelyAbsent_outsideBitmapRange_shouldDeferToDatabase() {
+        when(userRepository.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, Integer.MAX_VALUE + 1L));
+        knownUserIds.rebuild();
+        knownUserIds.add(Long.MAX_VALUE);
+
+        assertFalse(knownUserIds.isDefinitelyAbsent(-1L));
+        assertFalse(knownUserIds.isDefinitelyAbsent(Integer.MAX_VALUE + 1L));
+        assertFalse(knownUserIds.isDefinitelyAbsent(Long.MAX_VALUE));
+        assertTrue(knownUserIds.isDefinitelyAbsent(2L));
+    }
+
+    @Test
+    @DisplayName("Карта не включается вместе с межпроцессными блокировками")
+    void enabled_withAdvisoryLocks_shouldFailFast() {
+        assertThrows(IllegalStateException.class, () -> new KnownUserIds(userRepository, true, "advisory"));
+    }
+
+    @Test
+    @DisplayName("Создание и удаление пользователей применяются инкрементально")
+    void addAndRemove_shouldUpdateBitmap() {
+        knownUserIds.rebuild();
+
+        knownUserIds.add(3L);
+        knownUserIds.remove(1L);
+
+        assertFalse(knownUserIds.isDefinitelyAbsent(3L));
+        assertTrue(knownUserIds.isDefinitelyAbsent(1L));
+    }
+
+    @Test
+    @DisplayName("Выключенная карта никогда не отсекает запросы")
+    void disabled_shouldNeverRejectIds() {
+        KnownUserIds disabled = new KnownUserIds(userRepository, false, "advisory");
+
+        disabled.rebuild();
+
+        assertFalse(disabled.isDefinitelyAbsent(3L));
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.user.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userService.createUser(UserDto.builder()
+                .name("Cached")
+                .email("cached-" + System.nanoTime() + "@mail.ru")
+                .build());
+        // кэш второго уровня Hibernate не должен подменять собой проверяемый кэш сервиса
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Повторное чтение пользователя берётся из кэша и учитывается в метриках")
+    void getUser_shouldHitCacheOnSecondCall() {
+        double hitsBefore = cacheGets(CacheConfig.USERS, "hit");
+
+        userService.getUser(user.getId());
+        userService.getUser(user.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(hitsBefore + 1, cacheGets(CacheConfig.USERS, "hit"));
+    }
+
+    @Test
+    @DisplayName("Обновление пользователя сбрасывает запись кэша")
+    void updateUser_shouldEvictCachedUser() {
+        userService.getUser(user.getId());
+
+        userService.updateUser(user.getId(), UserDto.builder().name("Renamed").build());
+
+        assertEquals("Renamed", userService.getUser(user.getId()).getName());
+    }
+
+    @Test
+    @DisplayName("Существование пользователя кэшируется, удаление сбрасывает запись")
+    void existsById_shouldBeCachedUntilDelete() {
+        assertTrue(userRepository.existsById(user.getId()));
+        assertTrue(userRepository.existsById(user.getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        userService.deleteUser(user.getId());
+
+        assertFalse(userRepository.existsById(user.getId()));
+    }
+
+    @Test
+    @DisplayName("Отсутствие пользователя не кэшируется")
+    void existsById_shouldNotCacheMissingUser() {
+        assertFalse(userRepository.existsById(Long.MAX_VALUE));
+        assertFalse(userRepository.existsById(Long.MAX_VALUE));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+}
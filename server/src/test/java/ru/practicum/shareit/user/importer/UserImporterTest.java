@@ -0,0 +1,78 @@
+package ru.practicum.shareit.user.importer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.importer.ImportError;
+import ru.practicum.shareit.importer.ImportResult;
+import ru.practicum.shareit.user.cache.KnownUserIds;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.constant.Constants.*;
+
+@DataJpaTest
+@Import({UserImporter.class, KnownUserIds.class, JacksonAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+        "shareit.user.import.batch-size=2"
+})
+class UserImporterTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserImporter userImporter;
+
+    @Test
+    void importUsers_shouldCreateValidRowsAndReportRejectedOnes() throws Exception {
+        User existing = new User();
+        existing.setName("Existing");
+        existing.setEmail("existing@mail.ru");
+        em.persist(existing);
+
+        String body = String.join("\n",
+                userJson("Первый", "first@mail.ru"),
+                userJson("Занятый", "existing@mail.ru"),
+                "",
+                userJson("Второй", "second@mail.ru"),
+                userJson("Повтор", "first@mail.ru"),
+                "не json",
+                userJson("", "blank@mail.ru"),
+                userJson("Без почты", "nomail"),
+                userJson("Третий", "third@mail.ru"));
+
+        ImportResult result = userImporter.importUsers(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(8, result.getProcessed());
+        assertEquals(3, result.getCreated());
+        assertEquals(5, result.getFailed());
+        assertEquals(List.of(
+                new ImportError(2, "existing@mail.ru", String.format(USER_WITH_SAME_EMAIL_ERR, "existing@mail.ru")),
+                new ImportError(5, "first@mail.ru", String.format(USER_WITH_SAME_EMAIL_ERR, "first@mail.ru")),
+                new ImportError(6, null, USER_IMPORT_MALFORMED_LINE_ERR),
+                new ImportError(7, "blank@mail.ru", USER_NAME_BLANK_ERR),
+                new ImportError(8, "nomail", USER_EMAIL_INVALID_ERR)
+        ), result.getErrors());
+        assertEquals(4, userRepository.count());
+    }
+
+    private String userJson(String name, String email) {
+        return String.format("{\"name\":\"%s\",\"email\":\"%s\"}", name, email);
+    }
+}
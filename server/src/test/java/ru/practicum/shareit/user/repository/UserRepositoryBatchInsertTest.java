@@ -0,0 +1,55 @@
+package ru.practicum.shareit.user.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"
+})
+class UserRepositoryBatchInsertTest {
+    private static final int USER_COUNT = 120;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_shouldInsertInBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<User> users = IntStream.range(0, USER_COUNT)
+                .mapToObj(i -> new User(null, "user" + i, "batch" + i + "@mail.ru"))
+                .toList();
+        userRepository.saveAll(users);
+        em.flush();
+
+        assertEquals(USER_COUNT, userRepository.count());
+        // три пакета вставок и по одному обращению к последовательности на каждые 50 id
+        assertTrue(statistics.getPrepareStatementCount() <= 3 + 3 + 1,
+                () -> "Подготовлено запросов: " + statistics.getPrepareStatementCount());
+    }
+}